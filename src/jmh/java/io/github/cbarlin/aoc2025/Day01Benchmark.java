@@ -0,0 +1,57 @@
+package io.github.cbarlin.aoc2025;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day01Benchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int scale;
+
+    private List<String> lines;
+    private Input input;
+
+    @Setup
+    public void setup() {
+        lines = SyntheticInputs.day01(scale);
+        input = Input.of(String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Benchmark
+    public long parse() {
+        long sum = 0;
+        for (final String line : lines) {
+            sum += Day01.parseMove(line);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Day01.SafeCodeState solve() {
+        return Day01.processLines(lines.stream());
+    }
+
+    @Benchmark
+    public Day01.SafeCodeState solveParallel() {
+        return Day01.processParallel(input);
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.cbarlin.aoc2025;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day02Benchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int scale;
+
+    private String line;
+    private RepeatingIdIndex index;
+
+    @Setup
+    public void setup() {
+        line = SyntheticInputs.day02(scale);
+        // The synthetic ranges can just spill into 11 digits
+        index = RepeatingIdIndex.build(11);
+    }
+
+    @TearDown
+    public void tearDown() {
+        index.close();
+    }
+
+    @Benchmark
+    public Day02.Result solve() {
+        return Day02.sumRanges(line);
+    }
+
+    @Benchmark
+    public Day02.Result indexed() {
+        return Day02.sumRanges(line, index);
+    }
+
+    // A single range whose width grows with the scale
+    @Benchmark
+    public Day02.Result wideRange() {
+        return Day02.sumNumbersWithRepeating(1_000_000_000L, 1_000_000_000L + 10_000_000L * scale);
+    }
+}
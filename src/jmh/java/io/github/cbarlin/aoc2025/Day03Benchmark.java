@@ -0,0 +1,56 @@
+package io.github.cbarlin.aoc2025;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day03Benchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int scale;
+
+    @Param({"100", "5000"})
+    int width;
+
+    private List<String> lines;
+    private Input input;
+
+    @Setup
+    public void setup() {
+        lines = SyntheticInputs.day03(scale, width);
+        input = Input.of(String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Benchmark
+    public Day03.Result solve() {
+        return Day03.solveLines(lines.stream());
+    }
+
+    @Benchmark
+    public Day03.Result solveBytes() {
+        return Day03.solveInput(input);
+    }
+
+    @Benchmark
+    public Day03.Result solveParallel() {
+        return Day03.solveParallel(input);
+    }
+}
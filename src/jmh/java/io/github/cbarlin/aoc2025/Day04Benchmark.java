@@ -0,0 +1,69 @@
+package io.github.cbarlin.aoc2025;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day04Benchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int scale;
+
+    private List<String> lines;
+    private char[][] grid;
+
+    @Setup
+    public void setup() {
+        lines = SyntheticInputs.day04(scale);
+        grid = Day04.createGrid(lines);
+    }
+
+    @Benchmark
+    public char[][] parse() {
+        return Day04.createGrid(lines);
+    }
+
+    @Benchmark
+    public Day04.Result solve() {
+        // solveGrid swaps out the rows it is given, but never writes into them
+        return Day04.solveGrid(grid.clone());
+    }
+
+    @Benchmark
+    public BitGrid parseBitGrid() {
+        return BitGrid.parse(lines);
+    }
+
+    // Peeling removes the rolls, so this has to parse a fresh grid each time
+    @Benchmark
+    public Day04.Result parseAndPeelBitGrid() {
+        return BitGrid.parse(lines).peel();
+    }
+
+    @Benchmark
+    public Day04.Result parseAndPeelBandedSynchronous() {
+        return BandedPeeler.split(lines).synchronous();
+    }
+
+    @Benchmark
+    public Day04.Result parseAndPeelBandedAsynchronous() {
+        return BandedPeeler.split(lines).asynchronous();
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.cbarlin.aoc2025;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day05Benchmark {
+
+    @Param({"1", "10", "100"})
+    int scale;
+
+    private List<String> lines;
+    private List<Day05.Range> ranges;
+
+    @Setup
+    public void setup() {
+        lines = SyntheticInputs.day05(scale);
+        ranges = Day05.parseRanges(lines.stream());
+    }
+
+    // Range ingestion and the part 1 membership checks
+    @Benchmark
+    public Day05.Result parse() {
+        return Day05.parseLines(lines.stream());
+    }
+
+    // Merging the ranges for part 2, from the list as it's read in (the index copies it before sorting)
+    @Benchmark
+    public Day05.IntervalIndex merge() {
+        return Day05.IntervalIndex.of(ranges);
+    }
+}
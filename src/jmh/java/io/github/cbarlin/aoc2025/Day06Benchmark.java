@@ -0,0 +1,63 @@
+package io.github.cbarlin.aoc2025;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// Without the module the vector evaluation quietly falls back to scalar
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class Day06Benchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int scale;
+
+    // Worksheet.Evaluation isn't public, so it's passed by name
+    @Param({"SCALAR", "VECTOR", "PARALLEL"})
+    String evaluationName;
+
+    private List<String> lines;
+    private Input input;
+    private Worksheet worksheet;
+    private Worksheet.Evaluation evaluation;
+
+    @Setup
+    public void setup() {
+        lines = SyntheticInputs.day06(scale);
+        input = Input.of(String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+        worksheet = Worksheet.parse(input);
+        evaluation = Worksheet.Evaluation.valueOf(evaluationName);
+    }
+
+    @Benchmark
+    public Day06.Result solve() {
+        return Day06.solveLines(lines);
+    }
+
+    @Benchmark
+    public Day06.Result solveBytes() {
+        return Worksheet.parse(input).solve();
+    }
+
+    // Just the evaluation, on an already-parsed worksheet
+    @Benchmark
+    public Day06.Result evaluate() {
+        return worksheet.solve(evaluation);
+    }
+}
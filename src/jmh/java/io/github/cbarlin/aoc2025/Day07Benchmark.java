@@ -0,0 +1,56 @@
+package io.github.cbarlin.aoc2025;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class Day07Benchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int scale;
+
+    @Param({"141", "5000"})
+    int width;
+
+    // Only takes effect with --add-modules jdk.incubator.vector
+    @Param({"false", "true"})
+    boolean vectorised;
+
+    private byte[] input;
+    private Input loaded;
+
+    @Setup
+    public void setup() {
+        input = String.join("\n", SyntheticInputs.day07(scale, width)).getBytes(StandardCharsets.UTF_8);
+        loaded = Input.of(input);
+    }
+
+    @Benchmark
+    public Day07.Result solve() throws IOException {
+        return Day07.solve(new ByteArrayInputStream(input));
+    }
+
+    @Benchmark
+    public Day07.Result solveRows() {
+        return Day07.solve(loaded, new BeamRowEngine(vectorised && Worksheet.VECTOR_API_AVAILABLE));
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.cbarlin.aoc2025;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Every column of the top row as the start at once, to set against Day07Benchmark solving the one start
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day07SourcesBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int scale;
+
+    @Param({"141", "5000"})
+    int width;
+
+    private Input loaded;
+
+    @Setup
+    public void setup() {
+        loaded = Input.of(String.join("\n", SyntheticInputs.day07(scale, width)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public BeamSources allSources() {
+        return BeamSources.analyse(loaded);
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.cbarlin.aoc2025;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class Day08Benchmark {
+
+    // ALL_PAIRS and PACKED_EDGES materialise every pair of points, so grow quadratically - go beyond 5x with care
+    @Param({"1", "2", "5"})
+    int scale;
+
+    // Day08.Strategy is package-private, so it's passed by name
+    @Param({"ALL_PAIRS", "SPATIAL_INDEX", "PACKED_EDGES", "PARALLEL_BORUVKA"})
+    String strategyName;
+
+    @Param({"1000"})
+    int iterations;
+
+    private List<String> lines;
+    private List<Day08.Point> points;
+    private Day08.Strategy strategy;
+
+    @Setup
+    public void setup() {
+        lines = SyntheticInputs.day08(scale);
+        points = Day08.parsePoints(lines.stream());
+        strategy = Day08.Strategy.valueOf(strategyName);
+    }
+
+    @Benchmark
+    public List<Day08.Point> parse() {
+        return Day08.parsePoints(lines.stream());
+    }
+
+    @Benchmark
+    public Day08.Result solve() {
+        return Day08.solvePoints(points, iterations, strategy);
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.cbarlin.aoc2025;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Part 1 at several numbers of iterations in one pass, which doesn't have a Day08.Strategy to pick
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class Day08CheckpointsBenchmark {
+
+    @Param({"1", "2", "5"})
+    int scale;
+
+    private List<Day08.Point> points;
+
+    @Setup
+    public void setup() {
+        points = Day08.parsePoints(SyntheticInputs.day08(scale).stream());
+    }
+
+    @Benchmark
+    public Day08.Checkpoints checkpoints() {
+        return Day08.solveCheckpoints(points, 10, 100, 1000, 10000);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.cbarlin.aoc2025;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The points arriving one at a time with the answers read every so often, kept up to date as they come against
+// solving everything there is so far from scratch each time
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class Day08IncrementalBenchmark {
+
+    @Param({"1", "5"})
+    int scale;
+
+    // Rebuilding after every single point is quadratic, so this is kept above one
+    @Param({"10", "100"})
+    int readEvery;
+
+    @Param({"1000"})
+    int iterations;
+
+    private List<Day08.Point> points;
+
+    @Setup
+    public void setup() {
+        points = Day08.parsePoints(SyntheticInputs.day08(scale).stream());
+    }
+
+    @Benchmark
+    public long incremental() {
+        final IncrementalCircuits circuits = new IncrementalCircuits(iterations);
+        long answers = 0;
+        for (int i = 0; i < points.size(); i++) {
+            circuits.add(points.get(i));
+            if ((i + 1) % readEvery == 0) {
+                answers += circuits.part1() + circuits.part2();
+            }
+        }
+        return answers;
+    }
+
+    @Benchmark
+    public long rebuild() {
+        long answers = 0;
+        for (int read = readEvery; read <= points.size(); read += readEvery) {
+            final Day08.Result result = Day08.solvePoints(points.subList(0, read), iterations, Day08.Strategy.SPATIAL_INDEX);
+            answers += result.part1() + result.part2();
+        }
+        return answers;
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.cbarlin.aoc2025;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching a fresh {@link Application} process to it printing its first answer, for each way of
+ * packaging it. Each launch is measured on its own, so warming up only warms up the disk cache.
+ * <p>
+ * Needs the packaged application: target/aoc2025-1.0-SNAPSHOT.jar, target/aoc2025.aot (-Paot) and
+ * target/aoc2025 (-Pnative). A mode whose files are missing fails on its own without stopping the others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StartupBenchmark {
+    private static final Path JAR = Path.of("target", "aoc2025-1.0-SNAPSHOT.jar");
+    private static final Path AOT_CACHE = Path.of("target", "aoc2025.aot");
+    private static final Path NATIVE_IMAGE = Path.of("target", "aoc2025");
+
+    @Param({"COLD_JVM", "AOT_CACHE", "NATIVE_IMAGE"})
+    String mode;
+
+    private List<String> command;
+    private Process process;
+
+    @Setup
+    public void setup() {
+        final String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        command = new ArrayList<>();
+        switch (mode) {
+            case "COLD_JVM" -> command.addAll(List.of(java, "--add-modules=jdk.incubator.vector", "-jar", required(JAR)));
+            case "AOT_CACHE" -> command.addAll(List.of(java, "-XX:AOTCache=" + required(AOT_CACHE),
+                    "--add-modules=jdk.incubator.vector", "-jar", required(JAR)));
+            case "NATIVE_IMAGE" -> command.add(required(NATIVE_IMAGE));
+            default -> throw new IllegalArgumentException(mode);
+        }
+        // Day 1 of the example, solved for real every time
+        command.addAll(List.of("1", "--test", "--no-cache"));
+    }
+
+    private static String required(final Path path) {
+        if (!Files.exists(path)) {
+            throw new IllegalStateException(path + " doesn't exist - see the profiles in pom.xml");
+        }
+        return path.toString();
+    }
+
+    @Benchmark
+    public String timeToFirstAnswer() throws IOException {
+        process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        final BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = output.readLine()) != null) {
+            if (line.startsWith("Day ")) {
+                return line;
+            }
+        }
+        throw new IllegalStateException("Exited with " + process.exitValue() + " before answering");
+    }
+
+    // Finishing off the process isn't part of the time
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException, InterruptedException {
+        if (process != null) {
+            process.getInputStream().transferTo(OutputStream.nullOutputStream());
+            process.waitFor();
+            process = null;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.cbarlin.aoc2025;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic, in-memory generators shaped like each day's real input.
+ * <p>
+ * A {@code scale} of 1 is roughly the size of {@code src/main/resources/dayNN/real.txt}, so benchmarks
+ * can be run at 10x-1000x that without needing the files on disk.
+ */
+final class SyntheticInputs {
+
+    private static final long SEED = 2025_12_01L;
+
+    private SyntheticInputs() {}
+
+    // ~4,500 rotations in the real input
+    static List<String> day01(final int scale) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final int count = 4_500 * scale;
+        final List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add((random.nextBoolean() ? "L" : "R") + random.nextInt(1, 1000));
+        }
+        return lines;
+    }
+
+    // ~35 ranges of up to 10 digits on a single line
+    static String day02(final int scale) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final int count = 35 * scale;
+        final StringBuilder sb = new StringBuilder(count * 24);
+        for (int i = 0; i < count; i++) {
+            final int digits = random.nextInt(1, 11);
+            final long low = (long) Math.pow(10, digits - 1);
+            final long start = random.nextLong(low, low * 10);
+            final long end = start + random.nextLong(1, 1_000_000);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(start).append('-').append(end);
+        }
+        return sb.toString();
+    }
+
+    // ~200 banks of 100 batteries
+    static List<String> day03(final int scale, final int width) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final int count = 200 * scale;
+        final List<String> lines = new ArrayList<>(count);
+        final char[] bank = new char[width];
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < width; j++) {
+                bank[j] = (char) ('1' + random.nextInt(9));
+            }
+            lines.add(new String(bank));
+        }
+        return lines;
+    }
+
+    // ~140x140 grid, scaled by area
+    static List<String> day04(final int scale) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final int side = (int) Math.round(140 * Math.sqrt(scale));
+        final List<String> lines = new ArrayList<>(side);
+        final char[] row = new char[side];
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                row[j] = random.nextInt(100) < 65 ? '@' : '.';
+            }
+            lines.add(new String(row));
+        }
+        return lines;
+    }
+
+    // ~185 ranges followed by ~1,000 ingredient IDs
+    static List<String> day05(final int scale) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final int ranges = 185 * scale;
+        final int ids = 1_000 * scale;
+        final long space = 560_000_000_000_000L;
+        final List<String> lines = new ArrayList<>(ranges + ids + 1);
+        for (int i = 0; i < ranges; i++) {
+            final long start = random.nextLong(1, space);
+            lines.add(start + "-" + (start + random.nextLong(1, 1_000_000_000_000L)));
+        }
+        lines.add("");
+        for (int i = 0; i < ids; i++) {
+            lines.add(Long.toString(random.nextLong(1, space)));
+        }
+        return lines;
+    }
+
+    // ~1,000 problems of 4 operands, each number left or right aligned within its column
+    static List<String> day06(final int scale) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final int problems = 1_000 * scale;
+        final int operands = 4;
+        final StringBuilder[] rows = new StringBuilder[operands + 1];
+        for (int r = 0; r < rows.length; r++) {
+            rows[r] = new StringBuilder(problems * 5);
+        }
+        final String[] numbers = new String[operands];
+        for (int p = 0; p < problems; p++) {
+            if (p > 0) {
+                for (final StringBuilder row : rows) {
+                    row.append(' ');
+                }
+            }
+            int width = 0;
+            for (int r = 0; r < operands; r++) {
+                numbers[r] = Integer.toString(random.nextInt(1, 10_000));
+                width = Math.max(width, numbers[r].length());
+            }
+            final boolean leftAligned = random.nextBoolean();
+            for (int r = 0; r < operands; r++) {
+                final String padding = " ".repeat(width - numbers[r].length());
+                rows[r].append(leftAligned ? numbers[r] + padding : padding + numbers[r]);
+            }
+            rows[operands].append(random.nextBoolean() ? '+' : '*').append(" ".repeat(width - 1));
+        }
+        final List<String> lines = new ArrayList<>(rows.length);
+        for (final StringBuilder row : rows) {
+            lines.add(row.toString());
+        }
+        return lines;
+    }
+
+    // ~142 rows of ~141 columns: the start, then alternating empty and splitter rows
+    static List<String> day07(final int scale, final int width) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final int height = 142 * scale;
+        final List<String> lines = new ArrayList<>(height);
+        final char[] row = new char[width];
+        for (int i = 0; i < height; i++) {
+            Arrays.fill(row, '.');
+            if (i == 0) {
+                row[width / 2] = 'S';
+            } else if (i % 2 == 0) {
+                // Splitters are never next to each other in the real input
+                for (int j = 1; j < width - 1; j++) {
+                    if (random.nextInt(100) < 20) {
+                        row[j++] = '^';
+                    }
+                }
+            }
+            lines.add(new String(row));
+        }
+        return lines;
+    }
+
+    // ~1,000 junction boxes in a 100,000 unit cube
+    static List<String> day08(final int scale) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final int count = 1_000 * scale;
+        final List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(random.nextInt(100_000) + "," + random.nextInt(100_000) + "," + random.nextInt(100_000));
+        }
+        return lines;
+    }
+}
@@ -1,14 +1,185 @@
 package io.github.cbarlin.aoc2025;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the chosen days, all at once, printing their answers in day order - then how long each phase took.
+ * <pre>
+ * [day...]          only these days (default: all of them)
+ * --part 1|2        only print this part (default: both) - every solver still works out both
+ * --test | --real   only the example or the real input (default: both)
+ * --input path      a different input file, for a single day
+ * --strategy name   which of a single day's alternative engines to use (e.g. Day08's PACKED_EDGES)
+ * --json            print the phase timings as JSON rather than a table
+ * --no-cache        solve everything again, rather than using (or saving) answers from earlier runs - runs with
+ *                   known answers (every example, and some real inputs) are always solved again anyway
+ * --cache-dir path  where to keep earlier answers (default: .cache/results)
+ * --check           the old self-checking runDay() of each chosen day instead, one after another
+ * </pre>
+ */
 public final class Application {
-    static void main() {
-        Day01.runDay();
-        Day02.runDay();
-        Day03.runDay();
-        Day04.runDay();
-        Day05.runDay();
-        Day06.runDay();
-        Day07.runDay();
-        Day08.runDay();
+
+    private record Run(Puzzle puzzle, Solver.InputKind kind, Path input) {
+        String inputName() {
+            return kind == Solver.InputKind.TEST ? "Test" : "Real";
+        }
+    }
+
+    // The answers, what they should have been (if that's known) and whether they came from the cache
+    private record Outcome(Solver.Answers answers, Solver.Answers expected, boolean cached) {}
+
+    static void main(final String[] args) {
+        final List<Puzzle> puzzles = new ArrayList<>();
+        int part = 0;
+        List<Solver.InputKind> kinds = List.of(Solver.InputKind.TEST, Solver.InputKind.REAL);
+        Path input = null;
+        String strategy = null;
+        boolean check = false;
+        boolean json = false;
+        boolean useCache = true;
+        Path cacheDirectory = ResultCache.DEFAULT_DIRECTORY;
+        for (int i = 0; i < args.length; i++) {
+            final String arg = args[i];
+            switch (arg) {
+                case "--part" -> part = Integer.parseInt(args[++i]);
+                case "--test" -> kinds = List.of(Solver.InputKind.TEST);
+                case "--real" -> kinds = List.of(Solver.InputKind.REAL);
+                case "--input" -> input = Path.of(args[++i]);
+                case "--strategy" -> strategy = args[++i];
+                case "--check" -> check = true;
+                case "--json" -> json = true;
+                case "--no-cache" -> useCache = false;
+                case "--cache-dir" -> cacheDirectory = Path.of(args[++i]);
+                default -> puzzles.add(Puzzle.forDay(Integer.parseInt(arg))
+                        .orElseThrow(() -> new IllegalArgumentException("No such day: " + arg)));
+            }
+        }
+        if (puzzles.isEmpty()) {
+            puzzles.addAll(List.of(Puzzle.values()));
+        }
+        if (part < 0 || part > 2) {
+            throw new IllegalArgumentException("No such part: " + part);
+        }
+        if (input != null && (puzzles.size() != 1 || kinds.size() != 1)) {
+            throw new IllegalArgumentException("--input needs exactly one day and one of --test or --real");
+        }
+        if (strategy != null && (puzzles.size() != 1 || !puzzles.getFirst().strategies().contains(strategy))) {
+            throw new IllegalArgumentException("--strategy needs exactly one day, and one of its strategies: "
+                    + (puzzles.size() == 1 ? puzzles.getFirst().strategies() : "(more than one day)"));
+        }
+        if (check) {
+            puzzles.forEach(Application::runDay);
+            return;
+        }
+
+        final List<Run> runs = new ArrayList<>();
+        for (final Puzzle puzzle : puzzles) {
+            for (final Solver.InputKind kind : kinds) {
+                runs.add(new Run(puzzle, kind, input != null ? input : puzzle.input(kind)));
+            }
+        }
+        final List<Instrumentation.Recorder> recorders = new ArrayList<>(runs.size());
+        for (final Run run : runs) {
+            recorders.add(new Instrumentation.Recorder(run.puzzle().day(), run.inputName()));
+        }
+        // A particular strategy is asked for to run it, not to get its answers from the cache
+        final ResultCache cache = useCache && strategy == null ? ResultCache.open(cacheDirectory).orElse(null) : null;
+        final boolean allPassed = runAll(runs, recorders, part, strategy, cache);
+        System.out.println();
+        System.out.print(json ? Instrumentation.json(recorders) + System.lineSeparator() : Instrumentation.table(recorders));
+        if (!allPassed) {
+            System.exit(1);
+        }
+    }
+
+    // Everything starts at once, but the output is printed in order as each run's turn comes up.
+    // Platform threads rather than virtual ones, since only they report how much they've allocated
+    private static boolean runAll(final List<Run> runs, final List<Instrumentation.Recorder> recorders,
+                                  final int part, final String strategy, final ResultCache cache) {
+        boolean allPassed = true;
+        try (final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofPlatform().name("day-", 0).factory())) {
+            final List<Future<Outcome>> futures = new ArrayList<>(runs.size());
+            for (int i = 0; i < runs.size(); i++) {
+                final Run run = runs.get(i);
+                final Instrumentation.Recorder recorder = recorders.get(i);
+                final ScopedValue.Carrier scope = strategy == null ? ScopedValue.where(Instrumentation.RECORDER, recorder)
+                        : ScopedValue.where(Instrumentation.RECORDER, recorder).where(Solver.STRATEGY, strategy);
+                // Anything that can be checked is always solved, or the check would only be checking the cache
+                final ResultCache runCache = expected(run) == null ? cache : null;
+                futures.add(executor.submit(() -> scope.call(() -> {
+                    final ResultCache.Key key = runCache == null ? null
+                            : Instrumentation.phase("hash", () -> runCache.key(run.puzzle(), run.kind(), run.input()));
+                    final Solver.Answers cached = runCache == null ? null : runCache.get(key).orElse(null);
+                    final Solver.Answers answers = cached != null ? cached : Instrumentation.phase("total",
+                            () -> run.puzzle().solver().solve(run.input(), run.kind()));
+                    if (runCache != null && cached == null) {
+                        runCache.put(key, answers);
+                    }
+                    return Instrumentation.phase("verify", () -> verify(run, answers, cached != null));
+                })));
+            }
+            for (int i = 0; i < runs.size(); i++) {
+                allPassed &= report(runs.get(i), futures.get(i), part);
+            }
+        }
+        return allPassed;
+    }
+
+    private static Outcome verify(final Run run, final Solver.Answers answers, final boolean cached) {
+        return new Outcome(answers, expected(run), cached);
+    }
+
+    // The examples, and some of the real inputs, have known answers (unless a different input was given)
+    private static Solver.Answers expected(final Run run) {
+        final boolean knownInput = run.input().equals(run.puzzle().input(run.kind()));
+        return knownInput ? run.puzzle().expected(run.kind()) : null;
+    }
+
+    private static boolean report(final Run run, final Future<Outcome> future, final int part) {
+        final String label = "Day %02d %s".formatted(run.puzzle().day(), run.inputName());
+        final Outcome outcome;
+        try {
+            outcome = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            System.out.println(label + " failed: " + e.getCause());
+            return false;
+        }
+        boolean passed = true;
+        for (int p = 1; p <= 2; p++) {
+            if (part != 0 && part != p) {
+                continue;
+            }
+            final long answer = outcome.answers().part(p);
+            final String cached = outcome.cached() ? " (cached)" : "";
+            if (outcome.expected() != null && outcome.expected().part(p) != answer) {
+                System.out.println(label + " part " + p + ": " + answer + cached + " (expected " + outcome.expected().part(p) + ")");
+                passed = false;
+            } else {
+                System.out.println(label + " part " + p + ": " + answer + cached);
+            }
+        }
+        return passed;
+    }
+
+    private static void runDay(final Puzzle puzzle) {
+        switch (puzzle) {
+            case DAY_01 -> Day01.runDay();
+            case DAY_02 -> Day02.runDay();
+            case DAY_03 -> Day03.runDay();
+            case DAY_04 -> Day04.runDay();
+            case DAY_05 -> Day05.runDay();
+            case DAY_06 -> Day06.runDay();
+            case DAY_07 -> Day07.runDay();
+            case DAY_08 -> Day08.runDay();
+        }
     }
 }
@@ -0,0 +1,138 @@
+package io.github.cbarlin.aoc2025;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Splits a {@link Day04} grid into bands of rows that are worked on in parallel on the common ForkJoinPool.
+ * <p>
+ * Each band is its own {@link BitGrid} with an extra halo row above and below, holding a copy of the
+ * neighbouring bands' edge rows. Bands only ever change their own rows, and the halos are swapped over
+ * between passes.
+ * <ul>
+ *     <li>{@link #synchronous()} keeps the original rounds: a pass is one round, so part 1 is the first pass</li>
+ *     <li>{@link #asynchronous()} does the first round the same way, then lets each band peel as far as it can
+ *     before swapping halos - so there's only a pass for every time removals cross between bands</li>
+ * </ul>
+ */
+final class BandedPeeler {
+    private static final int MIN_BAND_ROWS = 16;
+
+    private final BitGrid[] bands;
+    // Number of real rows in each band, which are rows 1 to rows inclusive in its BitGrid
+    private final int[] bandRows;
+
+    private BandedPeeler(final BitGrid[] bands, final int[] bandRows) {
+        this.bands = bands;
+        this.bandRows = bandRows;
+    }
+
+    static BandedPeeler split(final List<String> lines) {
+        final int parallelism = Runtime.getRuntime().availableProcessors();
+        final int rowsPerBand = Math.max(MIN_BAND_ROWS, (lines.size() + 4 * parallelism - 1) / (4 * parallelism));
+        return split(lines, rowsPerBand);
+    }
+
+    static BandedPeeler split(final List<String> lines, final int rowsPerBand) {
+        int cols = 0;
+        for (final String line : lines) {
+            cols = Math.max(cols, line.length());
+        }
+        final int width = cols;
+        final int count = Math.max(1, (lines.size() + rowsPerBand - 1) / rowsPerBand);
+        final BitGrid[] bands = new BitGrid[count];
+        final int[] bandRows = new int[count];
+        IntStream.range(0, count).parallel().forEach(band -> {
+            final int start = band * rowsPerBand;
+            final int end = Math.min(lines.size(), start + rowsPerBand);
+            bandRows[band] = end - start;
+            final BitGrid grid = new BitGrid(end - start + 2, width);
+            // Halos included
+            for (int row = Math.max(0, start - 1); row <= Math.min(lines.size() - 1, end); row++) {
+                final String line = lines.get(row);
+                for (int col = 0; col < line.length(); col++) {
+                    if (line.charAt(col) == '@') {
+                        grid.set(row - start + 1, col);
+                    }
+                }
+            }
+            bands[band] = grid;
+        });
+        return new BandedPeeler(bands, bandRows);
+    }
+
+    /**
+     * Removes rolls in the same synchronous rounds as {@link Day04#solveGrid}, each round in parallel.
+     */
+    Day04.Result synchronous() {
+        final long[][] removed = newRemovedMasks();
+        long part1 = -1;
+        long total = 0;
+        while (true) {
+            final long round = IntStream.range(0, bands.length).parallel()
+                    .mapToLong(band -> {
+                        final long count = bands[band].markAccessible(removed[band], 1, bandRows[band]);
+                        bands[band].clearMarked(removed[band], 1, bandRows[band], null);
+                        return count;
+                    })
+                    .sum();
+            if (part1 < 0) {
+                part1 = round;
+            }
+            if (round == 0) {
+                return new Day04.Result(part1, total);
+            }
+            total += round;
+            exchangeHalos(null);
+        }
+    }
+
+    /**
+     * The same first round, after which each band peels on its own and only syncs up when its edge rows change.
+     */
+    Day04.Result asynchronous() {
+        final long[][] removed = newRemovedMasks();
+        final BitGrid.Worklist[] worklists = new BitGrid.Worklist[bands.length];
+        final long part1 = IntStream.range(0, bands.length).parallel()
+                .mapToLong(band -> {
+                    final long count = bands[band].markAccessible(removed[band], 1, bandRows[band]);
+                    worklists[band] = new BitGrid.Worklist((int) Math.max(16, count));
+                    bands[band].clearMarked(removed[band], 1, bandRows[band], worklists[band]);
+                    return count;
+                })
+                .sum();
+        long total = part1;
+        // Whatever the halos lost goes on the worklist too, so the rows next to it get checked
+        while (exchangeHalos(worklists)) {
+            total += IntStream.range(0, bands.length).parallel()
+                    .mapToLong(band -> bands[band].drain(worklists[band], 1, bandRows[band]))
+                    .sum();
+        }
+        return new Day04.Result(part1, total);
+    }
+
+    private long[][] newRemovedMasks() {
+        final long[][] removed = new long[bands.length][];
+        for (int band = 0; band < bands.length; band++) {
+            removed[band] = new long[(bandRows[band] + 2) * bands[band].wordsPerRow()];
+        }
+        return removed;
+    }
+
+    // Copies each band's edge rows into its neighbours' halos, returning whether there's any work queued
+    private boolean exchangeHalos(final BitGrid.Worklist[] worklists) {
+        return IntStream.range(0, bands.length).parallel()
+                .mapToObj(band -> {
+                    final BitGrid grid = bands[band];
+                    final BitGrid.Worklist worklist = worklists == null ? null : worklists[band];
+                    if (band > 0) {
+                        grid.replaceRow(0, bands[band - 1], bandRows[band - 1], worklist);
+                    }
+                    if (band + 1 < bands.length) {
+                        grid.replaceRow(bandRows[band] + 1, bands[band + 1], 1, worklist);
+                    }
+                    return worklist != null && !worklist.isEmpty();
+                })
+                .reduce(false, Boolean::logicalOr);
+    }
+}
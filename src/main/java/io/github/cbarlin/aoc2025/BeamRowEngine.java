@@ -0,0 +1,233 @@
+package io.github.cbarlin.aoc2025;
+
+import java.util.Arrays;
+
+/**
+ * Propagates the {@link Day07} tachyon beams one row at a time, straight off the row's bytes.
+ * <p>
+ * Beams are held as timeline counts per column (column -1 and the column past the end included, since beams
+ * can be split off the side of the manifold). Wide manifolds with only a few beams in them switch to a sorted
+ * list of the active columns, so each row costs the number of beams instead of the width. Nothing is
+ * allocated per row - the buffers only grow when a wider row or more beams turn up.
+ * <p>
+ * Dense rows go through {@link BeamRowVectors} when the Vector API is there, unless the row has a start or
+ * splitters side by side - those still go column by column.
+ */
+final class BeamRowEngine {
+    private static final int MIN_SPARSE_WIDTH = 256;
+    // Go sparse when fewer than 1 in 16 columns have a beam, dense again once more than 1 in 4 do
+    private static final int SPARSE_RATIO = 16;
+    private static final int DENSE_RATIO = 4;
+    private static final int DENSE_CHECK_INTERVAL = 64;
+
+    private long splits;
+    private int maxWidth;
+    private int rows;
+
+    // Dense: the count for column c is in counts[c + 1]
+    private long[] counts = new long[16];
+
+    // Vectorised dense rows: where the next row's counts go, and which columns have splitters (lined up the same)
+    private final boolean vectorised;
+    private long[] nextDense = new long[16];
+    private boolean[] splitters = new boolean[16];
+
+    // Sparse: double-buffered columns and counts, sorted by column
+    private boolean sparse;
+    private int activeSize;
+    private int[] activeColumns = new int[16];
+    private long[] activeCounts = new long[16];
+    private int[] nextColumns = new int[16];
+    private long[] nextCounts = new long[16];
+
+    BeamRowEngine() {
+        this(Worksheet.VECTOR_API_AVAILABLE);
+    }
+
+    // Only ask for vectorised if the Vector API is there
+    BeamRowEngine(final boolean vectorised) {
+        this.vectorised = vectorised;
+    }
+
+    void accept(final byte[] row, final int from, final int to) {
+        final int width = to - from;
+        if (width > maxWidth) {
+            maxWidth = width;
+            if (counts.length < width + 2) {
+                counts = Arrays.copyOf(counts, Math.max(width + 2, counts.length * 2));
+                nextDense = new long[counts.length];
+                splitters = new boolean[counts.length];
+            }
+        }
+        rows++;
+        if (sparse && contains(row, from, to, (byte) 'S')) {
+            toDense();
+        }
+        if (sparse) {
+            sparseRow(row, from, to);
+            if (maxWidth < MIN_SPARSE_WIDTH || (long) activeSize * DENSE_RATIO > maxWidth) {
+                toDense();
+            }
+        } else {
+            if (vectorised && BeamRowVectors.markSplitters(row, from, to, splitters)) {
+                vectorRow(width);
+            } else {
+                denseRow(row, from, to);
+            }
+            if (maxWidth >= MIN_SPARSE_WIDTH && rows % DENSE_CHECK_INTERVAL == 0) {
+                maybeSparse();
+            }
+        }
+    }
+
+    long splits() {
+        return splits;
+    }
+
+    long timelines() {
+        long total = 0;
+        if (sparse) {
+            for (int i = 0; i < activeSize; i++) {
+                total += activeCounts[i];
+            }
+        } else {
+            for (final long count : counts) {
+                total += count;
+            }
+        }
+        return total;
+    }
+
+    //#region Dense
+    // Splits in place, left to right - so a beam split onto a splitter to its right gets split again
+    private void denseRow(final byte[] row, final int from, final int to) {
+        final long[] c = counts;
+        for (int i = 0; i < to - from; i++) {
+            final byte b = row[from + i];
+            final long count = c[i + 1];
+            if (count > 0 && b == '^') {
+                splits++;
+                c[i] += count;
+                c[i + 2] += count;
+                c[i + 1] = 0;
+            }
+            if (b == 'S') {
+                c[i + 1] = 1;
+            }
+        }
+    }
+
+    private void vectorRow(final int width) {
+        // Anything past this row can't split, but still carries on down
+        Arrays.fill(splitters, width + 1, maxWidth + 2, false);
+        splits += BeamRowVectors.propagate(counts, nextDense, splitters, maxWidth + 2);
+        final long[] previous = counts;
+        counts = nextDense;
+        nextDense = previous;
+    }
+
+    private void maybeSparse() {
+        int active = 0;
+        for (int i = 0; i < maxWidth + 2; i++) {
+            if (counts[i] != 0) {
+                active++;
+            }
+        }
+        if ((long) active * SPARSE_RATIO >= maxWidth) {
+            return;
+        }
+        ensureCapacity(active);
+        activeSize = 0;
+        for (int i = 0; i < maxWidth + 2; i++) {
+            if (counts[i] != 0) {
+                activeColumns[activeSize] = i - 1;
+                activeCounts[activeSize] = counts[i];
+                activeSize++;
+                counts[i] = 0;
+            }
+        }
+        sparse = true;
+    }
+
+    private void toDense() {
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < activeSize; i++) {
+            counts[activeColumns[i] + 1] = activeCounts[i];
+        }
+        activeSize = 0;
+        sparse = false;
+    }
+    //endregion
+
+    //#region Sparse
+    // Same rules as denseRow, walking only the active columns plus the beam being carried to the right
+    private void sparseRow(final byte[] row, final int from, final int to) {
+        ensureCapacity(2 * activeSize + 2);
+        final int width = to - from;
+        int size = 0;
+        int index = 0;
+        int carriedColumn = 0;
+        long carried = 0;
+        while (index < activeSize || carried != 0) {
+            final int column;
+            long count;
+            if (carried != 0 && (index >= activeSize || carriedColumn <= activeColumns[index])) {
+                column = carriedColumn;
+                count = carried;
+                carried = 0;
+                if (index < activeSize && activeColumns[index] == column) {
+                    count += activeCounts[index++];
+                }
+            } else {
+                column = activeColumns[index];
+                count = activeCounts[index++];
+            }
+            if (count > 0 && column >= 0 && column < width && row[from + column] == '^') {
+                splits++;
+                size = emit(size, column - 1, count);
+                carriedColumn = column + 1;
+                carried = count;
+            } else {
+                size = emit(size, column, count);
+            }
+        }
+        final int[] columns = activeColumns;
+        final long[] beamCounts = activeCounts;
+        activeColumns = nextColumns;
+        activeCounts = nextCounts;
+        nextColumns = columns;
+        nextCounts = beamCounts;
+        activeSize = size;
+    }
+
+    // Everything emitted so far is at or left of column, so only the last entry can need merging
+    private int emit(final int size, final int column, final long count) {
+        if (size > 0 && nextColumns[size - 1] == column) {
+            nextCounts[size - 1] += count;
+            return size;
+        }
+        nextColumns[size] = column;
+        nextCounts[size] = count;
+        return size + 1;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (nextColumns.length < capacity) {
+            final int length = Math.max(capacity, nextColumns.length * 2);
+            nextColumns = Arrays.copyOf(nextColumns, length);
+            nextCounts = Arrays.copyOf(nextCounts, length);
+            activeColumns = Arrays.copyOf(activeColumns, length);
+            activeCounts = Arrays.copyOf(activeCounts, length);
+        }
+    }
+    //endregion
+
+    private static boolean contains(final byte[] row, final int from, final int to, final byte b) {
+        for (int i = from; i < to; i++) {
+            if (row[i] == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.cbarlin.aoc2025;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Propagates a dense row of {@link BeamRowEngine} timeline counts a vector's worth of columns at a time.
+ * <p>
+ * With no two splitters side by side, no beam gets split twice in the one row, so every column's new count only
+ * depends on the old counts of itself and its neighbours:
+ * {@code next[c] = (^ at c ? 0 : old[c]) + (^ at c-1 ? old[c-1] : 0) + (^ at c+1 ? old[c+1] : 0)}.
+ * Those neighbours are just the same counts and splitter flags loaded one lane to either side.
+ * <p>
+ * Only call this once {@link Worksheet#VECTOR_API_AVAILABLE} says {@code jdk.incubator.vector} has been added.
+ */
+final class BeamRowVectors {
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    private BeamRowVectors() {
+    }
+
+    /**
+     * Flags each column's splitter at {@code splitters[column + 1]}, to line up with the counts. Returns false
+     * (leaving the flags half done) if the row has a start or two splitters next to each other, since then it
+     * has to be done one column at a time.
+     */
+    static boolean markSplitters(final byte[] row, final int from, final int to, final boolean[] splitters) {
+        final int width = to - from;
+        int i = 0;
+        // Each block also looks one byte past its end, for a splitter right after one at the end of the block
+        for (; i + BYTES.length() < width; i += BYTES.length()) {
+            final ByteVector bytes = ByteVector.fromArray(BYTES, row, from + i);
+            final VectorMask<Byte> splitter = bytes.eq((byte) '^');
+            final VectorMask<Byte> nextSplitter = ByteVector.fromArray(BYTES, row, from + i + 1).eq((byte) '^');
+            if (bytes.eq((byte) 'S').anyTrue() || splitter.and(nextSplitter).anyTrue()) {
+                return false;
+            }
+            splitter.intoArray(splitters, i + 1);
+        }
+        for (; i < width; i++) {
+            final byte b = row[from + i];
+            if (b == 'S' || (b == '^' && i + 1 < width && row[from + i + 1] == '^')) {
+                return false;
+            }
+            splitters[i + 1] = b == '^';
+        }
+        return true;
+    }
+
+    /**
+     * Moves the beams in {@code counts} into {@code next} (both {@code length} long, with the splitter flags
+     * lined up to them), returning how many beams were split.
+     */
+    static long propagate(final long[] counts, final long[] next, final boolean[] splitters, final int length) {
+        final LongVector zero = LongVector.zero(LONGS);
+        long splits = 0;
+        // The first and last are off the sides, so never split themselves
+        next[0] = counts[0] + (length > 1 && splitters[1] && counts[1] > 0 ? counts[1] : 0);
+        int i = 1;
+        for (; i + LONGS.length() < length; i += LONGS.length()) {
+            final LongVector here = LongVector.fromArray(LONGS, counts, i);
+            final LongVector left = LongVector.fromArray(LONGS, counts, i - 1);
+            final LongVector right = LongVector.fromArray(LONGS, counts, i + 1);
+            // Only positive counts move, the same as column by column (which only matters once they've overflowed)
+            final VectorMask<Long> splitHere = VectorMask.fromArray(LONGS, splitters, i).and(here.compare(VectorOperators.GT, 0));
+            final VectorMask<Long> splitLeft = VectorMask.fromArray(LONGS, splitters, i - 1).and(left.compare(VectorOperators.GT, 0));
+            final VectorMask<Long> splitRight = VectorMask.fromArray(LONGS, splitters, i + 1).and(right.compare(VectorOperators.GT, 0));
+            here.blend(zero, splitHere)
+                    .add(zero.blend(left, splitLeft))
+                    .add(zero.blend(right, splitRight))
+                    .intoArray(next, i);
+            splits += splitHere.trueCount();
+        }
+        for (; i < length; i++) {
+            final boolean splitHere = splitters[i] && counts[i] > 0;
+            long moved = splitHere ? 0 : counts[i];
+            moved += splitters[i - 1] && counts[i - 1] > 0 ? counts[i - 1] : 0;
+            moved += i + 1 < length && splitters[i + 1] && counts[i + 1] > 0 ? counts[i + 1] : 0;
+            next[i] = moved;
+            if (splitHere) {
+                splits++;
+            }
+        }
+        return splits;
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.cbarlin.aoc2025;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * What a {@link Day07} beam entering the manifold at each column of the top row would do, for every column at once.
+ * <p>
+ * The timelines come from the bottom up: a beam going into a row at a column ends up as some number of timelines,
+ * and for a splitter that's the timelines of the column to its left one row down plus whatever the beam sent right
+ * makes of the same row (as it can be split again there). One pass over the rows, right to left along each, gives
+ * that for every column.
+ * <p>
+ * Splits don't add up like that, since beams from one start can reach the same splitter more than one way - so
+ * they come from the top down instead, with each column holding the set of starts that have a beam there as bits.
+ * A splitter passes its set on to both sides and counts a split for each start in it.
+ * <p>
+ * Only the top row is an entry point; an {@code S} anywhere further down is treated as empty space.
+ */
+final class BeamSources {
+    private final long[] timelines;
+    private final long[] splits;
+
+    private BeamSources(final long[] timelines, final long[] splits) {
+        this.timelines = timelines;
+        this.splits = splits;
+    }
+
+    static BeamSources analyse(final Input input) {
+        final List<byte[]> rows = new ArrayList<>();
+        final InputCursor cursor = input.cursor();
+        while (cursor.hasRemaining()) {
+            final byte[] row = new byte[Math.toIntExact(cursor.lineEnd() - cursor.position())];
+            cursor.read(row, row.length);
+            rows.add(row);
+            cursor.nextLine();
+        }
+        return analyse(rows);
+    }
+
+    // The first row is where the beams start, so only the rows after it split anything
+    static BeamSources analyse(final List<byte[]> rows) {
+        if (rows.isEmpty()) {
+            return new BeamSources(new long[0], new long[0]);
+        }
+        int maxWidth = 0;
+        for (final byte[] row : rows) {
+            maxWidth = Math.max(maxWidth, row.length);
+        }
+        final int starts = rows.getFirst().length;
+        return new BeamSources(timelines(rows, starts, maxWidth), splits(rows, starts, maxWidth));
+    }
+
+    int width() {
+        return timelines.length;
+    }
+
+    long timelines(final int column) {
+        return timelines[column];
+    }
+
+    long splits(final int column) {
+        return splits[column];
+    }
+
+    // Like BeamRowEngine, column c is at c + 1 - beams can end up just off either side
+    private static long[] timelines(final List<byte[]> rows, final int starts, final int maxWidth) {
+        // Past the bottom, every beam is the one timeline
+        long[] below = new long[maxWidth + 2];
+        Arrays.fill(below, 1);
+        long[] current = new long[maxWidth + 2];
+        for (int r = rows.size() - 1; r >= 1; r--) {
+            final byte[] row = rows.get(r);
+            for (int i = maxWidth + 1; i >= 0; i--) {
+                final int column = i - 1;
+                if (column >= 0 && column < row.length && row[column] == '^') {
+                    current[i] = below[i - 1] + current[i + 1];
+                } else {
+                    current[i] = below[i];
+                }
+            }
+            final long[] swap = below;
+            below = current;
+            current = swap;
+        }
+        return Arrays.copyOfRange(below, 1, starts + 1);
+    }
+
+    private static long[] splits(final List<byte[]> rows, final int starts, final int maxWidth) {
+        final int words = (starts + 63) >>> 6;
+        // The starts with a beam in each column, a run of words per column
+        final long[] reached = new long[(maxWidth + 2) * words];
+        for (int start = 0; start < starts; start++) {
+            reached[(start + 1) * words + (start >>> 6)] |= 1L << start;
+        }
+        final long[] splits = new long[starts];
+        for (int r = 1; r < rows.size(); r++) {
+            final byte[] row = rows.get(r);
+            // Left to right, so a beam sent onto a splitter to the right is split again in this row
+            for (int column = 0; column < row.length; column++) {
+                if (row[column] != '^') {
+                    continue;
+                }
+                final int here = (column + 1) * words;
+                for (int w = 0; w < words; w++) {
+                    long bits = reached[here + w];
+                    if (bits == 0) {
+                        continue;
+                    }
+                    reached[here - words + w] |= bits;
+                    reached[here + words + w] |= bits;
+                    reached[here + w] = 0;
+                    while (bits != 0) {
+                        splits[(w << 6) + Long.numberOfTrailingZeros(bits)]++;
+                        bits &= bits - 1;
+                    }
+                }
+            }
+        }
+        return splits;
+    }
+}
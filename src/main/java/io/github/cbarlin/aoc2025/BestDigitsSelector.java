@@ -0,0 +1,86 @@
+package io.github.cbarlin.aoc2025;
+
+import java.util.Arrays;
+
+/**
+ * Picks the largest number that can be made from {@code k} of a bank's digits, keeping them in order, for several
+ * values of {@code k} at once - {@link Day03}'s batteries.
+ * <p>
+ * Each {@code k} has a monotonic stack: a new digit knocks bigger-than-it digits off the top as long as there
+ * are enough digits left to still fill the stack. Every digit is pushed and popped at most once per stack, so a
+ * bank of {@code n} digits costs {@code O(n)} for each {@code k} however large it is, in one pass over the bank.
+ * Banks are fed in a digit at a time, so they can come from wherever - the stacks are reused from bank to bank.
+ */
+final class BestDigitsSelector {
+    private final int[] ks;
+    private final byte[][] stacks;
+    private final int[] sizes;
+    private int remaining;
+
+    BestDigitsSelector(final int... ks) {
+        this.ks = ks.clone();
+        this.stacks = new byte[ks.length][];
+        for (int i = 0; i < ks.length; i++) {
+            stacks[i] = new byte[ks[i]];
+        }
+        this.sizes = new int[ks.length];
+    }
+
+    /**
+     * Starts a new bank of the given number of digits.
+     */
+    void start(final int length) {
+        Arrays.fill(sizes, 0);
+        remaining = length;
+    }
+
+    void accept(final int digit) {
+        for (int i = 0; i < ks.length; i++) {
+            final byte[] stack = stacks[i];
+            int size = sizes[i];
+            // Only pop if what's left (this digit included) can still fill the stack
+            while (size > 0 && stack[size - 1] < digit && size - 1 + remaining >= ks[i]) {
+                size--;
+            }
+            if (size < ks[i]) {
+                stack[size++] = (byte) digit;
+            }
+            sizes[i] = size;
+        }
+        remaining--;
+    }
+
+    /**
+     * Feeds in the rest of the cursor's current line as a bank, leaving the cursor at the end of it.
+     */
+    void select(final InputCursor cursor) {
+        final long end = cursor.lineEnd();
+        start(Math.toIntExact(end - cursor.position()));
+        while (cursor.position() < end) {
+            accept(cursor.next() - '0');
+        }
+    }
+
+    void select(final CharSequence bank) {
+        start(bank.length());
+        for (int i = 0; i < bank.length(); i++) {
+            accept(bank.charAt(i) - '0');
+        }
+    }
+
+    /**
+     * The best number for the {@code which}th {@code k}, wrapping if it's more than 18 digits long.
+     */
+    long value(final int which) {
+        long value = 0;
+        for (int i = 0; i < sizes[which]; i++) {
+            value = value * 10 + stacks[which][i];
+        }
+        return value;
+    }
+
+    // The position-th digit of the best number for the which-th k
+    int digit(final int which, final int position) {
+        return stacks[which][position];
+    }
+}
@@ -0,0 +1,280 @@
+package io.github.cbarlin.aoc2025;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@link Day04} paper roll grid as one bit per cell, 64 cells to a long.
+ * <p>
+ * The first round is worked out a word at a time: the eight neighbour planes are shifted into place and added
+ * with carry-save adders. After that only the neighbours of rolls that have just been removed can change,
+ * so they go on a worklist rather than rescanning the grid. Removing a roll only ever lowers its neighbours'
+ * counts, so the rolls left at the end are the same whatever order they're removed in.
+ */
+final class BitGrid {
+    private final int rows;
+    private final int cols;
+    private final int wordsPerRow;
+    private final long[] bits;
+
+    BitGrid(final int rows, final int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = (cols + 63) >>> 6;
+        this.bits = new long[rows * wordsPerRow];
+    }
+
+    static BitGrid parse(final List<String> lines) {
+        int cols = 0;
+        for (final String line : lines) {
+            cols = Math.max(cols, line.length());
+        }
+        final BitGrid grid = new BitGrid(lines.size(), cols);
+        for (int row = 0; row < lines.size(); row++) {
+            final String line = lines.get(row);
+            for (int col = 0; col < line.length(); col++) {
+                if (line.charAt(col) == '@') {
+                    grid.set(row, col);
+                }
+            }
+        }
+        return grid;
+    }
+
+    static BitGrid parse(final Input input) {
+        // Once to size it, then again to fill it in
+        int rows = 0;
+        int cols = 0;
+        final InputCursor sizing = input.cursor();
+        while (sizing.hasRemaining()) {
+            cols = Math.max(cols, (int) (sizing.lineEnd() - sizing.position()));
+            rows++;
+            sizing.nextLine();
+        }
+        final BitGrid grid = new BitGrid(rows, cols);
+        final InputCursor cursor = input.cursor();
+        for (int row = 0; row < rows; row++) {
+            final long end = cursor.lineEnd();
+            for (int col = 0; cursor.position() < end; col++) {
+                if (cursor.next() == '@') {
+                    grid.set(row, col);
+                }
+            }
+            cursor.nextLine();
+        }
+        return grid;
+    }
+
+    int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    boolean get(final int row, final int col) {
+        return (bits[row * wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    void set(final int row, final int col) {
+        bits[row * wordsPerRow + (col >>> 6)] |= 1L << col;
+    }
+
+    void clear(final int row, final int col) {
+        bits[row * wordsPerRow + (col >>> 6)] &= ~(1L << col);
+    }
+
+    long word(final int row, final int word) {
+        return bits[row * wordsPerRow + word];
+    }
+
+    void clearWord(final int row, final int word, final long mask) {
+        bits[row * wordsPerRow + word] &= ~mask;
+    }
+
+    //#region Word-parallel counting
+    /**
+     * The rolls in the given word of a row that have fewer than four rolls around them.
+     */
+    long accessible(final int row, final int word) {
+        final long mid = word(row, word);
+        if (mid == 0) {
+            return 0;
+        }
+        // Carry-save add of the eight neighbour planes: each row of three gives a ones and a twos bit
+        final long left = shiftedLeft(row, word);
+        final long right = shiftedRight(row, word);
+        final long midOnes = left ^ right;
+        final long midTwos = left & right;
+        long upOnes = 0;
+        long upTwos = 0;
+        if (row > 0) {
+            final long a = shiftedLeft(row - 1, word);
+            final long b = word(row - 1, word);
+            final long c = shiftedRight(row - 1, word);
+            upOnes = a ^ b ^ c;
+            upTwos = majority(a, b, c);
+        }
+        long downOnes = 0;
+        long downTwos = 0;
+        if (row + 1 < rows) {
+            final long a = shiftedLeft(row + 1, word);
+            final long b = word(row + 1, word);
+            final long c = shiftedRight(row + 1, word);
+            downOnes = a ^ b ^ c;
+            downTwos = majority(a, b, c);
+        }
+        // Then the ones bits add up to at most one more ones bit (which can't matter) and one more twos bit
+        final long carriedTwos = majority(upOnes, midOnes, downOnes);
+        // Four or more in total means at least two of the twos bits are set
+        final long fourOrMore = (upTwos & midTwos) | (downTwos & carriedTwos)
+                | ((upTwos | midTwos) & (downTwos | carriedTwos));
+        return mid & ~fourOrMore;
+    }
+
+    // The neighbours to the left of each cell, lined up with the cell
+    private long shiftedLeft(final int row, final int word) {
+        final long before = word > 0 ? word(row, word - 1) : 0;
+        return (word(row, word) << 1) | (before >>> 63);
+    }
+
+    // The neighbours to the right of each cell, lined up with the cell
+    private long shiftedRight(final int row, final int word) {
+        final long after = word + 1 < wordsPerRow ? word(row, word + 1) : 0;
+        return (word(row, word) >>> 1) | (after << 63);
+    }
+
+    private static long majority(final long a, final long b, final long c) {
+        return (a & b) | (a & c) | (b & c);
+    }
+    //endregion
+
+    int neighbours(final int row, final int col) {
+        int count = 0;
+        for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+            for (int c = Math.max(0, col - 1); c <= Math.min(cols - 1, col + 1); c++) {
+                if ((r != row || c != col) && get(r, c)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes every roll that can be reached, returning the count from the first round and in total.
+     */
+    Day04.Result peel() {
+        // First round all at once, against the untouched grid
+        final long[] removed = new long[bits.length];
+        final long firstRound = markAccessible(removed, 0, rows - 1);
+        final Worklist worklist = new Worklist((int) Math.max(16, firstRound));
+        clearMarked(removed, 0, rows - 1, worklist);
+        // Then only the neighbours of whatever was just removed can have changed
+        final long total = firstRound + drain(worklist, 0, rows - 1);
+        return new Day04.Result(firstRound, total);
+    }
+
+    /**
+     * Works out a synchronous round over the given rows without changing anything, returning how many would go.
+     */
+    long markAccessible(final long[] removed, final int firstRow, final int lastRow) {
+        long count = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int word = 0; word < wordsPerRow; word++) {
+                final long mask = accessible(row, word);
+                removed[row * wordsPerRow + word] = mask;
+                count += Long.bitCount(mask);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes what {@link #markAccessible} found, adding each removed cell to the worklist (if there is one).
+     */
+    void clearMarked(final long[] removed, final int firstRow, final int lastRow, final Worklist worklist) {
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int word = 0; word < wordsPerRow; word++) {
+                final long mask = removed[row * wordsPerRow + word];
+                clearWord(row, word, mask);
+                if (worklist != null) {
+                    worklist.pushAll(cellIndex(row, word << 6), mask);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps removing rolls next to the removed cells on the worklist until there are none left, only touching
+     * rolls between the given rows. Returns how many were removed.
+     */
+    long drain(final Worklist worklist, final int firstRow, final int lastRow) {
+        long total = 0;
+        while (!worklist.isEmpty()) {
+            final long cell = worklist.pop();
+            final int row = (int) (cell / cols);
+            final int col = (int) (cell % cols);
+            for (int r = Math.max(firstRow, row - 1); r <= Math.min(lastRow, row + 1); r++) {
+                for (int c = Math.max(0, col - 1); c <= Math.min(cols - 1, col + 1); c++) {
+                    if (get(r, c) && neighbours(r, c) < 4) {
+                        clear(r, c);
+                        total++;
+                        worklist.push(cellIndex(r, c));
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Overwrites a row with one from another grid of the same width, adding any rolls that disappeared
+     * to the worklist (if there is one).
+     */
+    void replaceRow(final int row, final BitGrid source, final int sourceRow, final Worklist worklist) {
+        for (int word = 0; word < wordsPerRow; word++) {
+            final long before = word(row, word);
+            final long after = source.word(sourceRow, word);
+            bits[row * wordsPerRow + word] = after;
+            if (worklist != null) {
+                worklist.pushAll(cellIndex(row, word << 6), before & ~after);
+            }
+        }
+    }
+
+    // Longs, since big enough grids have more cells than an int can count
+    private long cellIndex(final int row, final int col) {
+        return (long) row * cols + col;
+    }
+
+    // Stack of cell indexes (row * cols + col)
+    static final class Worklist {
+        private long[] cells;
+        private int size;
+
+        Worklist(final int capacity) {
+            cells = new long[Math.max(1, capacity)];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(final long cell) {
+            if (size == cells.length) {
+                cells = Arrays.copyOf(cells, size * 2);
+            }
+            cells[size++] = cell;
+        }
+
+        // Each set bit is another cell after the first
+        void pushAll(final long firstCell, long mask) {
+            while (mask != 0) {
+                push(firstCell + Long.numberOfTrailingZeros(mask));
+                mask &= mask - 1;
+            }
+        }
+
+        long pop() {
+            return cells[--size];
+        }
+    }
+}
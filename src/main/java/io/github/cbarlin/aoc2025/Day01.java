@@ -15,21 +15,49 @@ public final class Day01 {
 
     //endregion
 
+    private static final int DIAL_SIZE = 100;
+
+    static int parseMove(final String line) {
+        if (line.startsWith("L")) {
+            return -Integer.parseInt(line.substring(1));
+        } else {
+            return Integer.parseInt(line.substring(1));
+        }
+    }
+
+    static SafeCodeState processLines(final Stream<String> lines) {
+        return lines.gather(
+                Gatherers.fold(
+                        () -> new SafeCodeState(50, 0, 0),
+                        (final SafeCodeState s, final String str) -> s.next(parseMove(str))
+                )
+        ).findFirst()
+        .orElseThrow();
+    }
+
+    // Each chunk of lines is summarised on its own, then the summaries are combined in order
+    static SafeCodeState processParallel(final Input input) {
+        return ParallelLines.reduceChunks(input, DialSummary::of, DialSummary::then)
+                .applyTo(new SafeCodeState(50, 0, 0));
+    }
+
+    private static SafeCodeState processParallel(final String inputPath) throws IOException {
+        try (final Input input = Input.map(Path.of("src/main/resources/" + inputPath))) {
+            return processParallel(input);
+        }
+    }
+
     private static SafeCodeState processInput(final String inputPath) throws IOException {
         try (final Stream<String> loading = Files.lines(Path.of("src/main/resources/" + inputPath))) {
-            return loading.gather(
-                    Gatherers.fold(
-                            () -> new SafeCodeState(50, 0, 0),
-                            (final SafeCodeState s, final String str) -> {
-                                if (str.startsWith("L")) {
-                                    return s.next(-Integer.parseInt(str.substring(1)));
-                                } else {
-                                    return s.next(Integer.parseInt(str.substring(1)));
-                                }
-                            }
-                    )
-            ).findFirst()
-            .orElseThrow();
+            return processLines(loading);
+        }
+    }
+
+    static Solver.Answers solve(final Path input, final Solver.InputKind kind) throws IOException {
+        // Parsing is done as part of summarising each chunk
+        try (final Input loaded = Input.map(input)) {
+            final SafeCodeState result = Instrumentation.phase("solve", () -> processParallel(loaded));
+            return new Solver.Answers(result.landedOnZeros, result.passedZero);
         }
     }
 
@@ -40,17 +68,19 @@ public final class Day01 {
             System.out.println("Day 01 Test part 2: " + testResult.passedZero);
             if (testResult.landedOnZeros != 3) throw new AssertionError();
             if (testResult.passedZero != 6) throw new AssertionError();
+            if (!processParallel(testInput).equals(testResult)) throw new AssertionError();
             final SafeCodeState realResult = processInput(realInput);
             System.out.println("Day 01 Real part 1: " + realResult.landedOnZeros);
             System.out.println("Day 01 Real part 2: " + realResult.passedZero);
             if (realResult.landedOnZeros != 1023) throw new AssertionError();
             if (realResult.passedZero != 5899) throw new AssertionError();
+            if (!processParallel(realInput).equals(realResult)) throw new AssertionError();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
-    private record SafeCodeState(
+    record SafeCodeState(
         int position,
         long landedOnZeros,
         long passedZero
@@ -75,4 +105,100 @@ public final class Day01 {
             }
         }
     }
+
+    /**
+     * What a run of moves does from each of the 100 starting positions: where the dial ends up relative to where
+     * it started, and how many times it lands on and passes zero.
+     * <p>
+     * Running one summary and then another is itself a summary, and that combining is associative - so a long list
+     * of moves can be summarised in chunks, in parallel, and the chunks combined in order.
+     */
+    static final class DialSummary {
+        private final int offset;
+        // Indexed by starting position
+        private final long[] landedOnZeros;
+        private final long[] passedZero;
+
+        private DialSummary(final int offset, final long[] landedOnZeros, final long[] passedZero) {
+            this.offset = offset;
+            this.landedOnZeros = landedOnZeros;
+            this.passedZero = passedZero;
+        }
+
+        /**
+         * Summarises the rest of the moves under the cursor, one per line. It must start at the start of a line.
+         */
+        static DialSummary of(final InputCursor cursor) {
+            final long[] landed = new long[DIAL_SIZE];
+            // Passes every start makes, and a difference array (by start) of the ones only some starts make
+            long everyStartPassed = 0;
+            final long[] passedDifference = new long[DIAL_SIZE + 1];
+            int offset = 0;
+            while (cursor.hasRemaining()) {
+                final byte direction = cursor.next();
+                if (direction != 'L' && direction != 'R') {
+                    continue;
+                }
+                final long amount = cursor.nextUnsignedLong();
+                if (amount == 0) {
+                    continue;
+                }
+                // A move of 100q + r passes zero q times, and once more from some positions depending on r
+                everyStartPassed += amount / DIAL_SIZE;
+                final int remainder = (int) (amount % DIAL_SIZE);
+                if (remainder != 0) {
+                    if (direction == 'R') {
+                        addByPosition(passedDifference, offset, DIAL_SIZE - remainder, DIAL_SIZE - 1);
+                    } else {
+                        addByPosition(passedDifference, offset, 1, remainder);
+                    }
+                }
+                offset = Math.floorMod(offset + (direction == 'R' ? remainder : -remainder), DIAL_SIZE);
+                landed[Math.floorMod(-offset, DIAL_SIZE)]++;
+            }
+            final long[] passed = new long[DIAL_SIZE];
+            long running = everyStartPassed;
+            for (int start = 0; start < DIAL_SIZE; start++) {
+                running += passedDifference[start];
+                passed[start] = running;
+            }
+            return new DialSummary(offset, landed, passed);
+        }
+
+        // The dial is at (start + offset) for every start, so positions [first, last] are one run of starts (maybe wrapping)
+        private static void addByPosition(final long[] difference, final int offset, final int first, final int last) {
+            final int start = Math.floorMod(first - offset, DIAL_SIZE);
+            final int end = start + last - first;
+            difference[start]++;
+            if (end < DIAL_SIZE) {
+                difference[end + 1]--;
+            } else {
+                difference[DIAL_SIZE]--;
+                difference[0]++;
+                difference[end - DIAL_SIZE + 1]--;
+            }
+        }
+
+        /**
+         * These moves followed by the next ones.
+         */
+        DialSummary then(final DialSummary next) {
+            final long[] landed = new long[DIAL_SIZE];
+            final long[] passed = new long[DIAL_SIZE];
+            for (int start = 0; start < DIAL_SIZE; start++) {
+                final int middle = (start + offset) % DIAL_SIZE;
+                landed[start] = landedOnZeros[start] + next.landedOnZeros[middle];
+                passed[start] = passedZero[start] + next.passedZero[middle];
+            }
+            return new DialSummary((offset + next.offset) % DIAL_SIZE, landed, passed);
+        }
+
+        SafeCodeState applyTo(final SafeCodeState state) {
+            return new SafeCodeState(
+                    (state.position() + offset) % DIAL_SIZE,
+                    state.landedOnZeros() + landedOnZeros[state.position()],
+                    state.passedZero() + passedZero[state.position()]
+            );
+        }
+    }
 }
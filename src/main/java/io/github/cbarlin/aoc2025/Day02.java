@@ -1,10 +1,9 @@
 package io.github.cbarlin.aoc2025;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 import java.util.stream.IntStream;
 
 public final class Day02 {
@@ -16,7 +15,7 @@ public final class Day02 {
             .filter(l -> l >= 0)
             .toArray();
 
-    private record Result (
+    record Result (
             long byHalvesSum,
             long anyRepeatsSum
     ) {}
@@ -34,87 +33,169 @@ public final class Day02 {
     // Generate possible numbers rather than looping to work it out
     // Basically, for e.g. 123123 it's 123 * (10 ^ 3 + 1)
     // Or 121212 it's 12 * (10^4 + 10^2 + 1)
-    // Work out, from possible multipliers, valid "base" numbers to multiply in!
-    private static Result sumNumbersWithRepeating(final long start, final long end) {
+    // The valid "base" numbers for one multiplier are a run of integers, so each one's total is an arithmetic series
+    static Result sumNumbersWithRepeating(final long start, final long end) {
         long byHalvesSum = 0;
         long anyRepeatsSum = 0;
 
-        final Set<Long> visited = new HashSet<>();
         final int minDigits = numberOfDigits(start);
         final int maxDigits = numberOfDigits(end);
 
         // Loop between the total digit lengths (e.g the start is 99 and end is 12345 - do 2, 3, 4, 5)
-        for (int totalLength = minDigits; totalLength <= maxDigits; totalLength++) {
-            // Is the current totalLength halvable?
-            final boolean halvable = totalLength % 2 == 0;
-            // How much should we try and increment the power of 10 search?
-            // e.g. 1111111, 1010101
-            for (int powerOfTenIncrement = 1; powerOfTenIncrement <= totalLength / 2; powerOfTenIncrement++) {
-                if (totalLength % powerOfTenIncrement != 0) {
-                    continue;
-                }
-                final boolean isHalfPattern = halvable && powerOfTenIncrement == (totalLength / 2);
-                // Calculate Multiplier.
-                // E.g. totalLength 6, powerOfTenIncrement 2 (121212) -> Multiplier = 10101
-                long multiplier = 0;
-                for (int k = 0; k < totalLength; k += powerOfTenIncrement) {
-                    multiplier += POWERS_OF_TEN[k];
-                }
-                // Work out the "range" of base numbers we can use (e.g. 1038-9863 should have 11 -> 63 as possible bases)
-                final long currentStartBase = Math.max(POWERS_OF_TEN[powerOfTenIncrement - 1], (start + multiplier - 1) / multiplier);
-                final long currentEndBase = Math.min(POWERS_OF_TEN[powerOfTenIncrement] - 1, end / multiplier);
-
-                for (long base = currentStartBase; base <= currentEndBase; base++) {
-                    long val = base * multiplier;
-                    // Only add if not already seen
-                    if (visited.add(val)) {
-                        anyRepeatsSum += val;
-                    }
-                    if (isHalfPattern) {
-                        byHalvesSum += val;
+        for (int totalLength = Math.max(2, minDigits); totalLength <= maxDigits; totalLength++) {
+            if (totalLength % 2 == 0) {
+                byHalvesSum += sumRepeating(start, end, totalLength, totalLength / 2);
+            }
+            // Anything repeating with some period also repeats with a period of totalLength / p, for some prime p,
+            // and repeating with two periods means repeating with their gcd. So inclusion-exclusion over the
+            // primes dividing totalLength counts everything once - no more than two primes fit in 19 digits
+            final int[] primes = primeFactors(totalLength);
+            for (int subset = 1; subset < (1 << primes.length); subset++) {
+                int divisor = 1;
+                for (int i = 0; i < primes.length; i++) {
+                    if ((subset & (1 << i)) != 0) {
+                        divisor *= primes[i];
                     }
                 }
+                final long sum = sumRepeating(start, end, totalLength, totalLength / divisor);
+                anyRepeatsSum += Integer.bitCount(subset) % 2 == 1 ? sum : -sum;
             }
         }
 
         return new Result(byHalvesSum, anyRepeatsSum);
     }
 
+    // Sum of every totalLength-digit number in [start, end] made by repeating a period-digit base
+    private static long sumRepeating(final long start, final long end, final int totalLength, final int period) {
+        final long multiplier = multiplier(totalLength, period);
+        // Work out the "range" of base numbers we can use (e.g. 1038-9863 should have 11 -> 63 as possible bases)
+        final long startBase = Math.max(POWERS_OF_TEN[period - 1], (start + multiplier - 1) / multiplier);
+        final long endBase = Math.min(POWERS_OF_TEN[period] - 1, end / multiplier);
+        if (startBase > endBase) {
+            return 0;
+        }
+        // Halve whichever factor is even before multiplying, so only the (wrapping) final sums can overflow
+        long first = startBase + endBase;
+        long second = endBase - startBase + 1;
+        if (first % 2 == 0) {
+            first /= 2;
+        } else {
+            second /= 2;
+        }
+        return first * second * multiplier;
+    }
+
+    // Calculate Multiplier.
+    // E.g. totalLength 6, period 2 (121212) -> Multiplier = 10101
+    static long multiplier(final int totalLength, final int period) {
+        long multiplier = 0;
+        for (int k = 0; k < totalLength; k += period) {
+            multiplier += POWERS_OF_TEN[k];
+        }
+        return multiplier;
+    }
+
+    static long powerOfTen(final int power) {
+        return POWERS_OF_TEN[power];
+    }
+
+    private static int[] primeFactors(final int x) {
+        return IntStream.rangeClosed(2, x)
+                .filter(p -> x % p == 0)
+                .filter(p -> IntStream.range(2, p).noneMatch(d -> p % d == 0))
+                .toArray();
+    }
+
     private static Result sumNumbersWithRepeating(final String input) {
-        final Path path = Path.of("src/main/resources/" + input);
-        String in;
-        try {
-            in = Files.readString(path);
+        try (final Input loaded = Input.map(Path.of("src/main/resources/" + input))) {
+            return sumRanges(loaded.cursor());
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+    }
+
+    static Solver.Answers solve(final Path input, final Solver.InputKind kind) throws IOException {
+        try (final Input loaded = Input.map(input)) {
+            final long[][] ranges = Instrumentation.phase("parse", () -> parseRanges(loaded.cursor()));
+            final Result result = Instrumentation.phase("solve", () -> sumRanges(ranges));
+            return new Solver.Answers(result.byHalvesSum, result.anyRepeatsSum);
+        }
+    }
+
+    static Result sumRanges(final String line) {
+        return sumRanges(Input.of(line.getBytes(StandardCharsets.US_ASCII)).cursor());
+    }
+
+    // Each range is independent, so once they're all read in they're summed in parallel
+    static Result sumRanges(final InputCursor cursor) {
+        return sumRanges(parseRanges(cursor));
+    }
+
+    private static Result sumRanges(final long[][] ranges) {
+        return IntStream.range(0, ranges[0].length)
+                .parallel()
+                .mapToObj(i -> sumNumbersWithRepeating(ranges[0][i], ranges[1][i]))
+                .reduce(new Result(0, 0), (a, b) -> new Result(
+                        a.byHalvesSum + b.byHalvesSum,
+                        a.anyRepeatsSum + b.anyRepeatsSum
+                ));
+    }
+
+    // Same answer as sumRanges, but each range is looked up in the index
+    static Result sumRanges(final String line, final RepeatingIdIndex index) {
+        return sumRanges(Input.of(line.getBytes(StandardCharsets.US_ASCII)).cursor(), index);
+    }
+
+    static Result sumRanges(final InputCursor cursor, final RepeatingIdIndex index) {
+        final long[][] ranges = parseRanges(cursor);
         long byHalvesSum = 0;
         long anyRepeatsSum = 0;
-        while (!in.isEmpty()) {
-            final int chop = in.indexOf(',');
-            final String range = chop != -1 ? in.substring(0, chop) : in;
-            if (chop != -1) {
-                in = in.substring(chop + 1);
-            } else {
-                in = "";
-            }
-            final int chop2 = range.indexOf('-');
-            final long first = Long.parseLong(range.substring(0, chop2));
-            final long second = Long.parseLong(range.substring(chop2 + 1));
-
-            final Result processed = sumNumbersWithRepeating(first, second);
+        for (int i = 0; i < ranges[0].length; i++) {
+            final Result processed = index.query(ranges[0][i], ranges[1][i]);
             byHalvesSum += processed.byHalvesSum;
             anyRepeatsSum += processed.anyRepeatsSum;
         }
         return new Result(byHalvesSum, anyRepeatsSum);
     }
 
+    // Comma-separated "start-end" pairs, as the starts and the ends
+    private static long[][] parseRanges(final InputCursor cursor) {
+        long[] starts = new long[64];
+        long[] ends = new long[64];
+        int count = 0;
+        while (true) {
+            cursor.skipBlankLines();
+            cursor.skipSpaces();
+            if (!cursor.hasRemaining()) {
+                break;
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = cursor.nextUnsignedLong();
+            cursor.expect((byte) '-');
+            ends[count] = cursor.nextUnsignedLong();
+            count++;
+            cursor.skipSpaces();
+            cursor.skip((byte) ',');
+        }
+        return new long[][]{Arrays.copyOf(starts, count), Arrays.copyOf(ends, count)};
+    }
+
     public static void runDay() {
         final Result testResult = sumNumbersWithRepeating(testInput);
         System.out.println("Day 02 Test part 1: " + testResult.byHalvesSum);
         System.out.println("Day 02 Test part 2: " + testResult.anyRepeatsSum);
         if (testResult.byHalvesSum != 1227775554L) throw new AssertionError();
         if (testResult.anyRepeatsSum != 4174379265L) throw new AssertionError();
+        try (RepeatingIdIndex index = RepeatingIdIndex.build(11);
+             Input input = Input.map(Path.of("src/main/resources/" + testInput))) {
+            final Result indexedResult = sumRanges(input.cursor(), index);
+            if (!indexedResult.equals(testResult)) throw new AssertionError();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
         final Result realResult = sumNumbersWithRepeating(realInput);
         System.out.println("Day 02 Real part 1: " + realResult.byHalvesSum);
         System.out.println("Day 02 Real part 2: " + realResult.anyRepeatsSum);
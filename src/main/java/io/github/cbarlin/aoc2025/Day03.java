@@ -25,7 +25,7 @@ public final class Day03 {
         return index;
     }
 
-    private static Result processLine(final Result accum, final String line) {
+    static Result processLine(final Result accum, final String line) {
         final int[] search = line.chars().map(i -> i - '0').toArray();
         final int firstIndex = highestIndexBetween(search, 0, search.length - 1);
         final int secondIndex = highestIndexBetween(search, firstIndex + 1, search.length);
@@ -39,15 +39,75 @@ public final class Day03 {
         return new Result(twoBatteries + accum.twoBatteries, twelveBatteries + accum.twelveBatteries);
     }
 
+    static Result solveLines(final Stream<String> lines) {
+        return lines.gather(
+                Gatherers.fold(
+                        () -> new Result(0L, 0L),
+                        Day03::processLine
+                )
+        ).findFirst()
+        .orElseThrow();
+    }
+
+    // One pass over each bank's bytes, for both battery counts at once
+    static Result solveInput(final Input input) {
+        final BestDigitsSelector selector = new BestDigitsSelector(2, 12);
+        final InputCursor cursor = input.cursor();
+        long twoBatteries = 0;
+        long twelveBatteries = 0;
+        while (cursor.hasRemaining()) {
+            if (!cursor.atLineEnd()) {
+                selector.select(cursor);
+                twoBatteries += selector.value(0);
+                twelveBatteries += selector.value(1);
+            }
+            cursor.nextLine();
+        }
+        return new Result(twoBatteries, twelveBatteries);
+    }
+
+    // Per chunk of banks, so nothing is shared between threads until the end
+    private static final class BankTotals {
+        private final BestDigitsSelector selector = new BestDigitsSelector(2, 12);
+        private long twoBatteries;
+        private long twelveBatteries;
+
+        private void add(final InputCursor bank) {
+            selector.select(bank);
+            twoBatteries += selector.value(0);
+            twelveBatteries += selector.value(1);
+        }
+
+        private BankTotals combine(final BankTotals other) {
+            twoBatteries += other.twoBatteries;
+            twelveBatteries += other.twelveBatteries;
+            return this;
+        }
+    }
+
+    // Every bank is independent, so chunks of them are done in parallel
+    static Result solveParallel(final Input input) {
+        final BankTotals totals = ParallelLines.reduce(input, BankTotals::new, BankTotals::add, BankTotals::combine);
+        return new Result(totals.twoBatteries, totals.twelveBatteries);
+    }
+
     private static Result solveDay(final String input) throws IOException {
+        try (final Input loaded = Input.map(Path.of("src/main/resources/" + input))) {
+            return solveParallel(loaded);
+        }
+    }
+
+    static Solver.Answers solve(final Path input, final Solver.InputKind kind) throws IOException {
+        // Each bank is solved as it's read
+        try (final Input loaded = Input.map(input)) {
+            final Result result = Instrumentation.phase("solve", () -> solveParallel(loaded));
+            return new Solver.Answers(result.twoBatteries, result.twelveBatteries);
+        }
+    }
+
+    private static Result solveDayByLines(final String input) throws IOException {
         try (final Stream<String> loading = Files.lines(Path.of("src/main/resources/" + input))) {
-            return loading.gather(
-                    Gatherers.fold(
-                            () -> new Result(0L, 0L),
-                            Day03::processLine
-                    )
-            ).findFirst()
-            .orElseThrow();
+            return solveLines(loading);
         }
     }
 
@@ -58,6 +118,10 @@ public final class Day03 {
             System.out.println("Day 03 Test part 2: " + testResult.twelveBatteries);
             if (testResult.twoBatteries != 357) throw new AssertionError();
             if (testResult.twelveBatteries != 3121910778619L) throw new AssertionError();
+            if (!testResult.equals(solveDayByLines(testInput))) throw new AssertionError();
+            try (final Input loaded = Input.map(Path.of("src/main/resources/" + testInput))) {
+                if (!testResult.equals(solveInput(loaded))) throw new AssertionError();
+            }
             final Result realResult = solveDay(realInput);
             System.out.println("Day 03 Real part 1: " + realResult.twoBatteries);
             System.out.println("Day 03 Real part 2: " + realResult.twelveBatteries);
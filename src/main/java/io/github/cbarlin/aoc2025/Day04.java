@@ -10,14 +10,17 @@ public final class Day04 {
     private static final String testInput = "src/main/resources/day04/test.txt";
     private static final String realInput = "src/main/resources/day04/real.txt";
 
-    private record Result(
+    record Result(
         long part1,
         long part2
     ) {}
 
     private static char[][] createGrid(final String input) throws IOException {
         final Path path = Path.of(input);
-        final List<String> lines = Files.readAllLines(path);
+        return createGrid(Files.readAllLines(path));
+    }
+
+    static char[][] createGrid(final List<String> lines) {
         final char[][] grid = new char[lines.size()][];
         for (int i = 0; i < lines.size(); i++) {
             grid[i] = lines.get(i).toCharArray();
@@ -79,7 +82,21 @@ public final class Day04 {
     }
 
     private static Result solveDay(final String input) throws IOException {
-        final char[][] grid = createGrid(input);
+        try (final Input loaded = Input.map(Path.of(input))) {
+            return BitGrid.parse(loaded).peel();
+        }
+    }
+
+    static Solver.Answers solve(final Path input, final Solver.InputKind kind) throws IOException {
+        try (final Input loaded = Input.map(input)) {
+            final BitGrid grid = Instrumentation.phase("parse", () -> BitGrid.parse(loaded));
+            final Result result = Instrumentation.phase("solve", grid::peel);
+            return new Solver.Answers(result.part1, result.part2);
+        }
+    }
+
+    // Note: replaces the rows of the given grid as it goes
+    static Result solveGrid(final char[][] grid) {
         final char[][] nextGrid = new char[grid.length][];
         // Make the first "next" the same as the original
         twoDcopy(grid, nextGrid);
@@ -116,6 +133,11 @@ public final class Day04 {
             System.out.println("Day 04 Test part 2: " + testResult.part2);
             if (testResult.part1 != 13) throw new AssertionError();
             if (testResult.part2 != 43) throw new AssertionError();
+            if (!testResult.equals(solveGrid(createGrid(testInput)))) throw new AssertionError();
+            // Tiny bands, so the halos actually get used
+            final List<String> testLines = Files.readAllLines(Path.of(testInput));
+            if (!testResult.equals(BandedPeeler.split(testLines, 3).synchronous())) throw new AssertionError();
+            if (!testResult.equals(BandedPeeler.split(testLines, 3).asynchronous())) throw new AssertionError();
             final Result realResult = solveDay(realInput);
             System.out.println("Day 04 Real part 1: " + realResult.part1);
             System.out.println("Day 04 Real part 2: " + realResult.part2);
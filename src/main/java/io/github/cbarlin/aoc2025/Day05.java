@@ -4,8 +4,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.Predicate;
 import java.util.stream.Gatherers;
 import java.util.stream.Stream;
@@ -14,7 +18,7 @@ public final class Day05 {
     private static final String testInput = "src/main/resources/day05/test.txt";
     private static final String realInput = "src/main/resources/day05/real.txt";
 
-    private record Range(long start, long end) implements Comparable<Range> {
+    record Range(long start, long end) implements Comparable<Range> {
         boolean overlaps(final Range other) {
             return Math.max(start, other.start) <= Math.min(end, other.end);
         }
@@ -38,68 +42,303 @@ public final class Day05 {
         }
     }
 
-    private record Result(
-            List<Range> ranges,
+    // Ranges merged and flattened into sorted parallel arrays, for binary searching
+    static final class IntervalIndex {
+        private final long[] starts;
+        private final long[] ends;
+        private final long coveredSize;
+
+        private IntervalIndex(final List<Range> merged) {
+            starts = new long[merged.size()];
+            ends = new long[merged.size()];
+            long size = 0;
+            for (int i = 0; i < merged.size(); i++) {
+                starts[i] = merged.get(i).start();
+                ends[i] = merged.get(i).end();
+                size += merged.get(i).size();
+            }
+            coveredSize = size;
+        }
+
+        static IntervalIndex of(final List<Range> ranges) {
+            return new IntervalIndex(merge(ranges));
+        }
+
+        boolean contains(final long id) {
+            // The last range starting at or before the id is the only one that can hold it
+            int lo = 0;
+            int hi = starts.length - 1;
+            while (lo <= hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (starts[mid] <= id) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return hi >= 0 && ends[hi] >= id;
+        }
+
+        long coveredSize() {
+            return coveredSize;
+        }
+    }
+
+    // Disjoint ranges that can be added and removed over time, keeping both answers up to date as they go.
+    // Removing takes those IDs out of the fresh set, whichever ranges they were added by
+    static final class DynamicIntervalSet {
+        private final TreeMap<Long, Range> byStart = new TreeMap<>();
+        // The ingredient IDs being asked about, sorted
+        private final long[] ingredients;
+        private long coveredSize;
+        private long freshIngredients;
+
+        DynamicIntervalSet(final long[] ingredientIds) {
+            ingredients = ingredientIds.clone();
+            Arrays.sort(ingredients);
+        }
+
+        // Part 1
+        long freshIngredients() {
+            return freshIngredients;
+        }
+
+        // Part 2
+        long coveredSize() {
+            return coveredSize;
+        }
+
+        boolean contains(final long id) {
+            final Map.Entry<Long, Range> entry = byStart.floorEntry(id);
+            return entry != null && entry.getValue().end() >= id;
+        }
+
+        void add(final long start, final long end) {
+            if (end < start) {
+                return;
+            }
+            long mergedStart = start;
+            long mergedEnd = end;
+            // Walk everything overlapping, counting the gaps between them as newly covered
+            long cursor = start;
+            final Iterator<Range> overlapping = overlapping(start, end);
+            while (overlapping.hasNext()) {
+                final Range range = overlapping.next();
+                overlapping.remove();
+                if (range.start() > cursor) {
+                    cover(cursor, range.start() - 1, 1);
+                }
+                cursor = Math.max(cursor, range.end() + 1);
+                mergedStart = Math.min(mergedStart, range.start());
+                mergedEnd = Math.max(mergedEnd, range.end());
+            }
+            if (cursor <= end) {
+                cover(cursor, end, 1);
+            }
+            byStart.put(mergedStart, new Range(mergedStart, mergedEnd));
+        }
+
+        void remove(final long start, final long end) {
+            if (end < start) {
+                return;
+            }
+            final List<Range> remainders = new ArrayList<>(2);
+            final Iterator<Range> overlapping = overlapping(start, end);
+            while (overlapping.hasNext()) {
+                final Range range = overlapping.next();
+                overlapping.remove();
+                cover(Math.max(start, range.start()), Math.min(end, range.end()), -1);
+                if (range.start() < start) {
+                    remainders.add(new Range(range.start(), start - 1));
+                }
+                if (range.end() > end) {
+                    remainders.add(new Range(end + 1, range.end()));
+                }
+            }
+            for (final Range remainder : remainders) {
+                byStart.put(remainder.start(), remainder);
+            }
+        }
+
+        // Every stored range overlapping [start, end], in order. At most one starts before start
+        private Iterator<Range> overlapping(final long start, final long end) {
+            final Map.Entry<Long, Range> before = byStart.floorEntry(start);
+            final long from = before != null && before.getValue().end() >= start ? before.getKey() : start;
+            return byStart.subMap(from, true, end, true).values().iterator();
+        }
+
+        private void cover(final long start, final long end, final int sign) {
+            coveredSize += sign * (end - start + 1);
+            freshIngredients += sign * (upperBound(end) - lowerBound(start));
+        }
+
+        // First ingredient at or after the value
+        private int lowerBound(final long value) {
+            int lo = 0;
+            int hi = ingredients.length;
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (ingredients[mid] < value) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        // First ingredient after the value
+        private int upperBound(final long value) {
+            int lo = 0;
+            int hi = ingredients.length;
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (ingredients[mid] <= value) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    record Result(
+            IntervalIndex index,
             long part1,
             long part2
     ) {}
 
-    private static Result parseRange(final Result soFar, final String line, final int index) {
-        final long start = Long.parseLong(line.substring(0, index));
-        final long end = Long.parseLong(line.substring(index + 1));
-        final List<Range> ranges = new ArrayList<>(soFar.ranges.size() + 1);
-        ranges.addAll(soFar.ranges);
-        ranges.add(new Range(start, end));
-        return new Result(ranges, soFar.part1, soFar.part2);
-    }
+    // Gathers the ranges and counts part 1 as the lines go by - only ever lives inside the one parse
+    private static final class Parser {
+        private final List<Range> ranges = new ArrayList<>();
+        private IntervalIndex index;
+        private long part1;
 
-    private static Result parseNumber(final Result soFar, final String line) {
-        final long num = Long.parseLong(line);
-        for (final Range range : soFar.ranges) {
-            if (range.start() <= num && range.end() >= num) {
-                return new Result(soFar.ranges, soFar.part1 + 1, soFar.part2);
+        // Ranges come before the numbers, so the list is only ever appended to until the index is built
+        private Parser range(final long start, final long end) {
+            ranges.add(new Range(start, end));
+            // If it's a range after the numbers, the next number will have to rebuild the index
+            index = null;
+            return this;
+        }
+
+        private Parser number(final long num) {
+            if (index == null) {
+                index = IntervalIndex.of(ranges);
+            }
+            if (index.contains(num)) {
+                part1++;
+            }
+            return this;
+        }
+
+        private Parser line(final String line) {
+            final int index = line.indexOf('-');
+            if (index > 0) {
+                return range(Long.parseLong(line.substring(0, index)), Long.parseLong(line.substring(index + 1)));
+            } else {
+                return number(Long.parseLong(line));
             }
         }
-        return soFar;
+
+        private Result result() {
+            return new Result(index != null ? index : IntervalIndex.of(ranges), part1, 0L);
+        }
     }
 
-    private static Result processLine(final Result soFar, final String line) {
-        final int index = line.indexOf('-');
-        if (index > 0) {
-            return parseRange(soFar, line, index);
-        } else {
-            return parseNumber(soFar, line);
+    // The same as parseLines, straight from the bytes
+    static Result parseInput(final InputCursor cursor) {
+        final Parser parser = new Parser();
+        while (true) {
+            cursor.skipBlankLines();
+            if (!cursor.hasRemaining()) {
+                return parser.result();
+            }
+            final long first = cursor.nextUnsignedLong();
+            if (cursor.skip((byte) '-')) {
+                parser.range(first, cursor.nextUnsignedLong());
+            } else {
+                parser.number(first);
+            }
+            cursor.nextLine();
         }
     }
 
-    private static Result obtainPart2(final Result result) {
-        final List<Range> toCollapse = new ArrayList<>(result.ranges);
+    // Just the ranges, in the order they're listed
+    static List<Range> parseRanges(final Stream<String> lines) {
+        return lines.filter(line -> line.indexOf('-') > 0)
+                .map(line -> {
+                    final int index = line.indexOf('-');
+                    return new Range(Long.parseLong(line.substring(0, index)), Long.parseLong(line.substring(index + 1)));
+                })
+                .toList();
+    }
+
+    // Sorted, with any overlapping ranges combined
+    private static List<Range> merge(final List<Range> ranges) {
+        if (ranges.isEmpty()) {
+            return List.of();
+        }
+        final List<Range> toCollapse = new ArrayList<>(ranges);
         Collections.sort(toCollapse);
+        final List<Range> merged = new ArrayList<>();
         Range currRange = toCollapse.getFirst();
-        long ans = 0;
         for (final Range range : toCollapse) {
             if (!range.overlaps(currRange)) {
-                ans += currRange.size();
+                merged.add(currRange);
                 currRange = range;
             } else {
                 currRange = range.merge(currRange);
             }
         }
-        return new Result(result.ranges, result.part1, ans + currRange.size());
+        merged.add(currRange);
+        return merged;
+    }
+
+    static Result obtainPart2(final Result result) {
+        return new Result(result.index, result.part1, result.index.coveredSize());
+    }
+
+    static Result parseLines(final Stream<String> lines) {
+        return lines.filter(Predicate.not(String::isBlank))
+                .gather(
+                    Gatherers.fold(
+                            Parser::new,
+                            Parser::line
+                    )
+                ).findFirst()
+                .orElseThrow()
+                .result();
     }
 
     private static Result solveDay(final String input) throws IOException {
-        try (final Stream<String> loading = Files.lines(Path.of(input))) {
-            final Result tmp = loading.filter(Predicate.not(String::isBlank))
-                    .gather(
-                        Gatherers.fold(
-                                () -> new Result(List.of(), 0L, 0L),
-                                Day05::processLine
-                        )
-                    ).findFirst()
-                    .orElseThrow();
-            return obtainPart2(tmp);
+        try (final Input loaded = Input.map(Path.of(input))) {
+            return obtainPart2(parseInput(loaded.cursor()));
+        }
+    }
+
+    // Part 1 is counted as the numbers are parsed
+    static Solver.Answers solve(final Path input, final Solver.InputKind kind) throws IOException {
+        try (final Input loaded = Input.map(input)) {
+            final Result parsed = Instrumentation.phase("parse", () -> parseInput(loaded.cursor()));
+            final Result result = Instrumentation.phase("solve", () -> obtainPart2(parsed));
+            return new Solver.Answers(result.part1, result.part2);
+        }
+    }
+
+    // Builds up a DynamicIntervalSet one range at a time instead
+    private static DynamicIntervalSet solveDynamically(final String input) throws IOException {
+        final List<String> lines = Files.readAllLines(Path.of(input));
+        final long[] ids = lines.stream()
+                .filter(line -> !line.isBlank() && line.indexOf('-') <= 0)
+                .mapToLong(Long::parseLong)
+                .toArray();
+        final DynamicIntervalSet set = new DynamicIntervalSet(ids);
+        for (final Range range : parseRanges(lines.stream())) {
+            set.add(range.start(), range.end());
         }
+        return set;
     }
 
     public static void runDay() {
@@ -109,6 +348,9 @@ public final class Day05 {
             System.out.println("Day 05 Test part 2: " + testResult.part2);
             if (testResult.part1 != 3) throw new AssertionError();
             if (testResult.part2 != 14) throw new AssertionError();
+            final DynamicIntervalSet dynamicResult = solveDynamically(testInput);
+            if (dynamicResult.freshIngredients() != 3) throw new AssertionError();
+            if (dynamicResult.coveredSize() != 14) throw new AssertionError();
             final Result realResult = solveDay(realInput);
             System.out.println("Day 05 Real part 1: " + realResult.part1);
             System.out.println("Day 05 Real part 2: " + realResult.part2);
@@ -1,55 +1,103 @@
 package io.github.cbarlin.aoc2025;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.*;
-import java.util.stream.Gatherers;
-import java.util.stream.Stream;
+import java.util.Arrays;
 
 public final class Day07 {
     private static final String testInput = "src/main/resources/day07/test.txt";
     private static final String realInput = "src/main/resources/day07/real.txt";
 
-    private record Result(
-        Map<Integer, Long> timelines,
+    record Result(
         long part1,
         long part2
     ) {}
 
-    private static Result processLine(final Result soFar, final String line) {
-        final Map<Integer, Long> timelines = new HashMap<>(soFar.timelines);
-        final char[] ln = line.toCharArray();
-        long splits = 0;
-        for (int i = 0; i < ln.length; i++) {
-            final long count = timelines.getOrDefault(i, 0L);
-            if (count > 0 && ln[i] == '^') {
-                splits++;
-                timelines.put(i + 1, timelines.getOrDefault(i + 1, 0L) + count);
-                timelines.put(i - 1, timelines.getOrDefault(i - 1, 0L) + count);
-                timelines.remove(i);
+    // Feeds each line's bytes straight into the engine, reusing the one buffer throughout
+    static Result solve(final InputStream input) throws IOException {
+        final BeamRowEngine engine = new BeamRowEngine();
+        byte[] buffer = new byte[1 << 16];
+        int start = 0;
+        int scanned = 0;
+        int end = 0;
+        while (true) {
+            while (scanned < end && buffer[scanned] != '\n') {
+                scanned++;
             }
-            if (ln[i] == 'S') {
-                timelines.put(i, 1L);
+            if (scanned < end) {
+                engine.accept(buffer, start, lineEnd(buffer, start, scanned));
+                start = ++scanned;
+                continue;
             }
+            // Out of complete lines, so shuffle what's left to the front and read some more
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, end - start);
+                end -= start;
+                scanned -= start;
+                start = 0;
+            }
+            if (end == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            final int read = input.read(buffer, end, buffer.length - end);
+            if (read < 0) {
+                if (end > start) {
+                    engine.accept(buffer, start, lineEnd(buffer, start, end));
+                }
+                return new Result(engine.splits(), engine.timelines());
+            }
+            end += read;
         }
+    }
+
+    // The same, over an input that's already mapped in - each row is copied into the one buffer for the engine
+    static Result solve(final Input input) {
+        return solve(input, new BeamRowEngine());
+    }
 
-        return new Result(
-            Map.copyOf(timelines),
-            soFar.part1 + splits,
-            timelines.values().stream().reduce(0L, Long::sum)
-        );
+    static Result solve(final Input input, final BeamRowEngine engine) {
+        final InputCursor cursor = input.cursor();
+        byte[] row = new byte[256];
+        while (cursor.hasRemaining()) {
+            final int length = Math.toIntExact(cursor.lineEnd() - cursor.position());
+            if (length > row.length) {
+                row = new byte[Math.max(length, row.length * 2)];
+            }
+            cursor.read(row, length);
+            engine.accept(row, 0, length);
+            cursor.nextLine();
+        }
+        return new Result(engine.splits(), engine.timelines());
+    }
+
+    // Where the S is in the top row
+    private static int startColumn(final Input input) {
+        final InputCursor cursor = input.cursor();
+        for (int column = 0; !cursor.atLineEnd(); column++) {
+            if (cursor.next() == 'S') {
+                return column;
+            }
+        }
+        throw new IllegalStateException("No start in the top row");
+    }
+
+    private static int lineEnd(final byte[] buffer, final int start, final int end) {
+        return end > start && buffer[end - 1] == '\r' ? end - 1 : end;
     }
 
     private static Result solveDay(final String input) throws IOException {
-        try (final Stream<String> loading = Files.lines(Path.of(input))) {
-            return loading.gather(
-                            Gatherers.fold(
-                                    () -> new Result(Map.of(), 0L, 0L),
-                                    Day07::processLine
-                            )
-                    ).findFirst()
-                    .orElseThrow();
+        try (final Input loaded = Input.map(Path.of(input))) {
+            return solve(loaded);
+        }
+    }
+
+    // Each row is propagated as it's read
+    static Solver.Answers solve(final Path input, final Solver.InputKind kind) throws IOException {
+        try (final Input loaded = Input.map(input)) {
+            final Result result = Instrumentation.phase("solve", () -> solve(loaded));
+            return new Solver.Answers(result.part1, result.part2);
         }
     }
 
@@ -60,6 +108,17 @@ public final class Day07 {
             System.out.println("Day 07 Test part 2: " + testResult.part2);
             if (testResult.part1 != 21) throw new AssertionError();
             if (testResult.part2 != 40) throw new AssertionError();
+            try (final InputStream loading = Files.newInputStream(Path.of(testInput))) {
+                if (!testResult.equals(solve(loading))) throw new AssertionError();
+            }
+            try (final Input loaded = Input.map(Path.of(testInput))) {
+                if (!testResult.equals(solve(loaded, new BeamRowEngine(false)))) throw new AssertionError();
+                // Every start at once should agree at the actual start
+                final BeamSources sources = BeamSources.analyse(loaded);
+                final int start = startColumn(loaded);
+                if (sources.splits(start) != testResult.part1) throw new AssertionError();
+                if (sources.timelines(start) != testResult.part2) throw new AssertionError();
+            }
             final Result realResult = solveDay(realInput);
             System.out.println("Day 07 Real part 1: " + realResult.part1);
             System.out.println("Day 07 Real part 2: " + realResult.part2);
@@ -1,9 +1,9 @@
 package io.github.cbarlin.aoc2025;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.stream.Stream;
 
 public class Day08 {
@@ -12,7 +12,7 @@ public class Day08 {
     private static final String realInput = "src/main/resources/day08/real.txt";
     private static final int realIterations = 1000;
 
-    private record Point(
+    record Point(
         long x, long y, long z
     ) {
         public static Point parse(final String line) {
@@ -31,9 +31,88 @@ public class Day08 {
                 Math.pow(z - other.z, 2)
             );
         }
+
+        // Exact, and orders pairs the same as distanceTo
+        long squaredDistanceTo(final Point other) {
+            final long dx = x - other.x;
+            final long dy = y - other.y;
+            final long dz = z - other.z;
+            return dx * dx + dy * dy + dz * dz;
+        }
     }
 
     // Kruskal's Algorithm
+    // Produces edges closest first, with ties broken on (indexA, indexB)
+    interface EdgeSource {
+        boolean advance();
+
+        int indexA();
+
+        int indexB();
+
+        // Stops after the first count edges
+        default EdgeSource limit(final long count) {
+            final EdgeSource source = this;
+            return new EdgeSource() {
+                private long remaining = count;
+
+                @Override
+                public boolean advance() {
+                    return remaining-- > 0 && source.advance();
+                }
+
+                @Override
+                public int indexA() {
+                    return source.indexA();
+                }
+
+                @Override
+                public int indexB() {
+                    return source.indexB();
+                }
+            };
+        }
+
+        static EdgeSource of(final List<Edge> sortedEdges) {
+            final Iterator<Edge> iterator = sortedEdges.iterator();
+            return new EdgeSource() {
+                private Edge current;
+
+                @Override
+                public boolean advance() {
+                    if (!iterator.hasNext()) {
+                        return false;
+                    }
+                    current = iterator.next();
+                    return true;
+                }
+
+                @Override
+                public int indexA() {
+                    return current.indxA;
+                }
+
+                @Override
+                public int indexB() {
+                    return current.indexB;
+                }
+            };
+        }
+    }
+
+    enum Strategy {
+        // Every pair of points, sorted up front
+        ALL_PAIRS,
+        // Pairs pulled closest first from a k-d tree, only as many as are needed
+        SPATIAL_INDEX,
+        // Every pair of points packed into primitive longs, only sorting the windows that are needed
+        PACKED_EDGES,
+        // Part 1 from the k-d tree, part 2 from a parallel Borůvka over every core
+        PARALLEL_BORUVKA,
+        // Points added one at a time to an IncrementalCircuits, reading the answers after the last one
+        INCREMENTAL
+    }
+
     private record Edge (
         int indxA, int indexB, double distance
     )  implements Comparable<Edge> {
@@ -43,18 +122,33 @@ public class Day08 {
         }
     }
 
+    // Also keeps the size of every circuit, with the roots in a max-heap on their size so the largest few
+    // can be read off the top at any point
     static class KruskalsUnionFind {
         private final int[] parent;
         private final int[] rank;
+        private final int[] size;
+        private final int[] heap;
+        // Where each root is in the heap
+        private final int[] heapPosition;
+        private int heapSize;
 
         public KruskalsUnionFind(int numberOfElements) {
             parent = new int[numberOfElements];
             rank = new int[numberOfElements];
+            size = new int[numberOfElements];
+            heap = new int[numberOfElements];
+            heapPosition = new int[numberOfElements];
 
             for (int i = 0; i < numberOfElements; i++) {
                 parent[i] = i;
                 rank[i] = 0;
+                size[i] = 1;
+                // Everything is the same size, so any order is a heap
+                heap[i] = i;
+                heapPosition[i] = i;
             }
+            heapSize = numberOfElements;
         }
 
         public int find(int i) {
@@ -74,28 +168,225 @@ public class Day08 {
 
             // Union by rank
             if (rank[rootA] < rank[rootB]) {
-                parent[rootA] = rootB;
+                absorb(rootB, rootA);
             } else if (rank[rootA] > rank[rootB]) {
-                parent[rootB] = rootA;
+                absorb(rootA, rootB);
             } else {
-                parent[rootA] = rootB;
+                absorb(rootB, rootA);
                 rank[rootB]++;
             }
             return true;
         }
+
+        private void absorb(final int root, final int child) {
+            parent[child] = root;
+            size[root] += size[child];
+            // The child's circuit is gone, and the root's can only have moved up
+            removeFromHeap(heapPosition[child]);
+            siftUp(heapPosition[root]);
+        }
+
+        /**
+         * The sizes of the {@code k} largest circuits multiplied together (or all of them, if there are fewer).
+         * The largest k are all within the top k levels of the heap and each one is a child of one before it,
+         * so only the children of those already taken need looking at.
+         */
+        public long productOfLargest(final int k) {
+            final int[] frontier = new int[k + 1];
+            int frontierSize = heapSize > 0 ? 1 : 0;
+            long product = 1;
+            for (int taken = 0; taken < k && frontierSize > 0; taken++) {
+                int best = 0;
+                for (int i = 1; i < frontierSize; i++) {
+                    if (size[heap[frontier[i]]] > size[heap[frontier[best]]]) {
+                        best = i;
+                    }
+                }
+                final int position = frontier[best];
+                product *= size[heap[position]];
+                frontier[best] = frontier[--frontierSize];
+                for (int child = 2 * position + 1; child <= 2 * position + 2 && child < heapSize; child++) {
+                    frontier[frontierSize++] = child;
+                }
+            }
+            return product;
+        }
+
+        //#region Heap
+        private void removeFromHeap(final int position) {
+            final int last = heap[--heapSize];
+            if (position == heapSize) {
+                return;
+            }
+            place(position, last);
+            siftDown(position);
+            siftUp(heapPosition[last]);
+        }
+
+        private void siftUp(int position) {
+            final int root = heap[position];
+            while (position > 0) {
+                final int parentPosition = (position - 1) >>> 1;
+                if (size[heap[parentPosition]] >= size[root]) {
+                    break;
+                }
+                place(position, heap[parentPosition]);
+                position = parentPosition;
+            }
+            place(position, root);
+        }
+
+        private void siftDown(int position) {
+            final int root = heap[position];
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && size[heap[child + 1]] > size[heap[child]]) {
+                    child++;
+                }
+                if (size[heap[child]] <= size[root]) {
+                    break;
+                }
+                place(position, heap[child]);
+                position = child;
+            }
+            place(position, root);
+        }
+
+        private void place(final int position, final int root) {
+            heap[position] = root;
+            heapPosition[root] = position;
+        }
+        //endregion
+    }
+
+    // Lock-free version of the above for when many threads union at once. Roots are linked by index rather
+    // than rank, so the same root wins no matter which thread gets there first
+    static final class ConcurrentUnionFind {
+        private final AtomicIntegerArray parent;
+
+        ConcurrentUnionFind(final int numberOfElements) {
+            parent = new AtomicIntegerArray(numberOfElements);
+            for (int i = 0; i < numberOfElements; i++) {
+                parent.set(i, i);
+            }
+        }
+
+        int find(int i) {
+            while (true) {
+                final int p = parent.get(i);
+                if (p == i) {
+                    return i;
+                }
+                // Path halving - if someone else got there first that's fine too
+                final int grandparent = parent.get(p);
+                if (p != grandparent) {
+                    parent.compareAndSet(i, p, grandparent);
+                }
+                i = grandparent;
+            }
+        }
+
+        boolean union(final int indxA, final int indexB) {
+            while (true) {
+                final int rootA = find(indxA);
+                final int rootB = find(indexB);
+                if (rootA == rootB) {
+                    return false;
+                }
+                final int child = Math.max(rootA, rootB);
+                final int newRoot = Math.min(rootA, rootB);
+                if (parent.compareAndSet(child, child, newRoot)) {
+                    return true;
+                }
+            }
+        }
     }
 
-    private record Result(
+    record Result(
         long part1,
         long part2
     ) {}
 
-    private static Result solveDay(final String input, final int iterations) throws IOException {
+    static List<Point> parsePoints(final Stream<String> lines) {
+        return lines.map(Point::parse).toList();
+    }
+
+    // One "x,y,z" per line
+    static List<Point> parsePoints(final InputCursor cursor) {
+        final List<Point> points = new ArrayList<>();
+        while (true) {
+            cursor.skipBlankLines();
+            if (!cursor.hasRemaining()) {
+                return points;
+            }
+            final long x = cursor.nextLong();
+            cursor.expect((byte) ',');
+            final long y = cursor.nextLong();
+            cursor.expect((byte) ',');
+            points.add(new Point(x, y, cursor.nextLong()));
+            cursor.nextLine();
+        }
+    }
+
+    private static Result solveDay(final String input, final int iterations, final Strategy strategy) throws IOException {
         // First, let's find all the points
         final List<Point> points;
-        try (final Stream<String> loading = Files.lines(Path.of(input))) {
-            points = loading.map(Point::parse).toList();
+        try (final Input loaded = Input.map(Path.of(input))) {
+            points = parsePoints(loaded.cursor());
         }
+        return solvePoints(points, iterations, strategy);
+    }
+
+    // The example only makes 10 connections
+    static Solver.Answers solve(final Path input, final Solver.InputKind kind) throws IOException {
+        final int iterations = kind == Solver.InputKind.TEST ? testIterations : realIterations;
+        final Strategy strategy = Strategy.valueOf(Solver.STRATEGY.orElse(Strategy.SPATIAL_INDEX.name()));
+        final List<Point> points;
+        try (final Input loaded = Input.map(input)) {
+            points = Instrumentation.phase("parse", () -> parsePoints(loaded.cursor()));
+        }
+        final Result result;
+        if (strategy == Strategy.SPATIAL_INDEX) {
+            // The same as solvePoints, but with building the index timed on its own
+            final PointKdTree tree = Instrumentation.phase("index", () -> new PointKdTree(points));
+            result = Instrumentation.phase("solve", () -> connect(points, iterations, new NearestEdgeFrontier(tree)));
+        } else {
+            result = Instrumentation.phase("solve", () -> solvePoints(points, iterations, strategy));
+        }
+        return new Solver.Answers(result.part1, result.part2);
+    }
+
+    static Result solvePoints(final List<Point> points, final int iterations) {
+        return solvePoints(points, iterations, Strategy.ALL_PAIRS);
+    }
+
+    static Result solvePoints(final List<Point> points, final int iterations, final Strategy strategy) {
+        return switch (strategy) {
+            case ALL_PAIRS -> connect(points, iterations, EdgeSource.of(allEdgesSorted(points)));
+            case SPATIAL_INDEX -> connect(points, iterations, new NearestEdgeFrontier(new PointKdTree(points)));
+            case PACKED_EDGES -> {
+                try (final PackedEdgeBuffer edges = PackedEdgeBuffer.allPairs(points, iterations)) {
+                    yield connect(points, iterations, edges);
+                }
+            }
+            case PARALLEL_BORUVKA -> {
+                final EdgeSource closest = new NearestEdgeFrontier(new PointKdTree(points)).limit(iterations);
+                final long part1 = connect(points, iterations, closest).part1;
+                final int[] last = ParallelBoruvka.lastConnectingEdge(points);
+                yield new Result(part1, last == null ? 0 : points.get(last[0]).x * points.get(last[1]).x);
+            }
+            case INCREMENTAL -> {
+                final IncrementalCircuits circuits = new IncrementalCircuits(iterations);
+                points.forEach(circuits::add);
+                yield circuits.result();
+            }
+        };
+    }
+
+    private static List<Edge> allEdgesSorted(final List<Point> points) {
         final List<Edge> allEdges = new ArrayList<>();
         for (int iA = 0; iA < points.size(); iA++) {
             for (int iB = iA + 1; iB < points.size(); iB++) {
@@ -104,60 +395,80 @@ public class Day08 {
             }
         }
         Collections.sort(allEdges);
+        return allEdges;
+    }
+
+    private static Result connect(final List<Point> points, final int iterations, final EdgeSource edges) {
+        final Checkpoints checkpoints = connect(points, new int[]{iterations}, edges);
+        return new Result(checkpoints.part1()[0], checkpoints.part2());
+    }
 
+    // Part 1 after each of several numbers of connections, and part 2
+    record Checkpoints(
+        int[] iterations,
+        long[] part1,
+        long part2
+    ) {}
+
+    /**
+     * Part 1 for every one of the given numbers of connections, plus part 2, in a single pass over the closest
+     * edges - each circuit product is read straight off the union-find as its checkpoint goes by.
+     */
+    static Checkpoints solveCheckpoints(final List<Point> points, final int... iterations) {
+        final int[] sorted = iterations.clone();
+        Arrays.sort(sorted);
+        return connect(points, sorted, new NearestEdgeFrontier(new PointKdTree(points)));
+    }
+
+    // The iterations need to be in order. Any that there aren't enough edges for stay at zero
+    private static Checkpoints connect(final List<Point> points, final int[] iterations, final EdgeSource edges) {
         final KruskalsUnionFind kuf = new KruskalsUnionFind(points.size());
+        final long[] part1 = new long[iterations.length];
+        int reached = 0;
+        while (reached < iterations.length && iterations[reached] <= 0) {
+            reached++;
+        }
         int unionedTimes = 0;
-        int remainingIterations = iterations - 1;
-        long part1 = 0;
+        long edgesSeen = 0;
         long part2 = 0;
-        for (final Edge edge : allEdges) {
-            if(kuf.union(edge.indxA, edge.indexB)) {
+        boolean connected = points.size() < 2;
+        while ((reached < iterations.length || !connected) && edges.advance()) {
+            edgesSeen++;
+            if(kuf.union(edges.indexA(), edges.indexB())) {
                 unionedTimes++;
                 if (unionedTimes == points.size() - 1) {
-                    part2 = points.get(edge.indxA).x * points.get(edge.indexB).x;
-                    if (part1 != 0) {
-                        break;
-                    }
+                    part2 = points.get(edges.indexA()).x * points.get(edges.indexB()).x;
+                    connected = true;
                 }
             }
-
-            if (remainingIterations == 0) {
-                final List<Integer> lengths = getLongestCircuits(points, kuf);
-                part1 = ((long) lengths.getFirst()) * lengths.get(1) * lengths.get(2);
-                if (part2 != 0) {
-                    break;
-                }
-                remainingIterations--;
-            } else if (remainingIterations > 0) {
-                remainingIterations--;
+            while (reached < iterations.length && iterations[reached] == edgesSeen) {
+                part1[reached++] = kuf.productOfLargest(3);
             }
         }
-        return new Result(
-                part1,
-                part2
-        );
-    }
-
-    private static List<Integer> getLongestCircuits(final List<Point> points, final KruskalsUnionFind uf) {
-        final Map<Integer, Integer> circuits = new HashMap<>();
-        for(int i = 0; i < points.size(); i++){
-            int root = uf.find(i);
-            circuits.put(root, circuits.getOrDefault(root, 0) + 1);
-        }
-
-        List<Integer> circuitLengths = new ArrayList<>(circuits.values());
-        circuitLengths.sort(Collections.reverseOrder());
-        return circuitLengths;
+        return new Checkpoints(iterations, part1, part2);
     }
 
     public static void runDay() {
         try {
-            final Result testResult = solveDay(testInput, testIterations);
+            final Result testResult = solveDay(testInput, testIterations, Strategy.SPATIAL_INDEX);
             System.out.println("Day 08 Test part 1: " + testResult.part1);
             System.out.println("Day 08 Test part 2: " + testResult.part2);
             if (testResult.part1 != 40) throw new AssertionError();
             if (testResult.part2 != 25272) throw new AssertionError();
-            final Result realResult = solveDay(realInput, realIterations);
+            for (final Strategy strategy : Strategy.values()) {
+                if (!testResult.equals(solveDay(testInput, testIterations, strategy))) throw new AssertionError(strategy);
+            }
+            final List<Point> testPoints;
+            try (final Input loaded = Input.map(Path.of(testInput))) {
+                testPoints = parsePoints(loaded.cursor());
+            }
+            final Checkpoints checkpoints = solveCheckpoints(testPoints, 100, 5, testIterations);
+            for (int i = 0; i < checkpoints.iterations().length; i++) {
+                final long expected = solvePoints(testPoints, checkpoints.iterations()[i]).part1;
+                if (checkpoints.part1()[i] != expected) throw new AssertionError(checkpoints.iterations()[i]);
+            }
+            if (checkpoints.part2() != testResult.part2) throw new AssertionError();
+            final Result realResult = solveDay(realInput, realIterations, Strategy.SPATIAL_INDEX);
             System.out.println("Day 08 Real part 1: " + realResult.part1);
             System.out.println("Day 08 Real part 2: " + realResult.part2);
         } catch (IOException e) {
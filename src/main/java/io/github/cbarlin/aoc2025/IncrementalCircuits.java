@@ -0,0 +1,434 @@
+package io.github.cbarlin.aoc2025;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The junction boxes of {@link Day08} arriving one at a time, with both answers kept up to date as they do.
+ * <p>
+ * Points are numbered in the order they're added, and edges are ordered on (squared distance, indexA, indexB) -
+ * the same as the batch solutions, so after the last point the answers match theirs.
+ * <ul>
+ *     <li>Part 2 keeps the minimum spanning tree in a {@link LinkCutForest}, since Kruskal's last connecting edge
+ *     is its longest edge. The new tree only uses edges of the old one plus edges to the new point: the nearest
+ *     one always, and each other one if it's lighter than the heaviest edge on the tree path between its ends,
+ *     which it then replaces.</li>
+ *     <li>Part 1 keeps the {@code iterations} closest pairs. Their circuits are the same as those of the tree's
+ *     edges that are no further than the furthest of those pairs (that's as far as Kruskal's had got), so a
+ *     second forest keeps just those edges, and the circuit sizes along with it.</li>
+ * </ul>
+ * Only a few of the new point's edges can be in the tree. The directions from it are split into cones narrow
+ * enough that any two points in one are closer to each other than the further one is to the new point - so only
+ * the nearest point in each cone can be. A hash grid of cells around the new point is searched ring by ring until
+ * each cone has its nearest, has no more points, or is past the old tree's longest edge (anything further than
+ * that is the heaviest edge on its cycle through the nearest neighbour). The rings also have to reach the
+ * furthest of the part 1 pairs.
+ * <p>
+ * The grid cells follow the average tree edge, which is about how far apart neighbouring points are.
+ */
+final class IncrementalCircuits {
+    private static final long INITIAL_CELL_SIZE = 1L << 16;
+    // Bits per axis in a cell key - cells further apart than this just share a bucket
+    private static final int CELL_BITS = 21;
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+    // The axis a direction is furthest along and which way, then where it crosses that face of a cube, in thirds
+    // each way - no two directions in a cone are as much as 60 degrees apart
+    private static final int CONES = 6 * 9;
+
+    record Link(long distance, int indexA, int indexB) implements Comparable<Link> {
+        @Override
+        public int compareTo(final Link other) {
+            if (distance != other.distance) {
+                return Long.compare(distance, other.distance);
+            }
+            if (indexA != other.indexA) {
+                return Integer.compare(indexA, other.indexA);
+            }
+            return Integer.compare(indexB, other.indexB);
+        }
+    }
+
+    private final int iterations;
+    private final List<Day08.Point> points = new ArrayList<>();
+
+    //#region Grid
+    private long cellSize = INITIAL_CELL_SIZE;
+    private final Map<Long, int[]> cells = new HashMap<>();
+    private final long[] lowest = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+    private final long[] highest = {Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE};
+    //endregion
+
+    //#region Search
+    // Reused for each new point
+    private final List<Link> closer = new ArrayList<>();
+    private final Link[] coneNearest = new Link[CONES];
+    private final List<Link> candidates = new ArrayList<>();
+    private long nearestDistance;
+    //endregion
+
+    //#region Part 1
+    private final TreeSet<Link> closest = new TreeSet<>();
+    private final List<Link> pushedOut = new ArrayList<>();
+    private final LinkCutForest circuits = new LinkCutForest();
+    // How many circuits there are of each size
+    private final TreeMap<Integer, Integer> circuitSizes = new TreeMap<>();
+    //endregion
+
+    //#region Part 2
+    private final LinkCutForest spanningTree = new LinkCutForest();
+    private final TreeSet<Link> treeEdges = new TreeSet<>();
+    private double treeLength;
+    //endregion
+
+    IncrementalCircuits(final int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Need at least one iteration, not " + iterations);
+        }
+        this.iterations = iterations;
+    }
+
+    int size() {
+        return points.size();
+    }
+
+    void add(final Day08.Point point) {
+        final int index = points.size();
+        points.add(point);
+        spanningTree.addPoint();
+        circuits.addPoint();
+        addCircuitSize(1);
+        if (index > 0) {
+            search(index);
+            updateClosest();
+            updateSpanningTree();
+        }
+        addToGrid(index);
+        final long[] coordinates = {point.x(), point.y(), point.z()};
+        for (int axis = 0; axis < 3; axis++) {
+            lowest[axis] = Math.min(lowest[axis], coordinates[axis]);
+            highest[axis] = Math.max(highest[axis], coordinates[axis]);
+        }
+        if (!treeEdges.isEmpty()) {
+            final long spacing = Math.max(1, (long) (treeLength / treeEdges.size()));
+            if (cellSize > 2 * spacing || 2 * cellSize < spacing) {
+                regrid(spacing);
+            }
+        }
+    }
+
+    /**
+     * The product of the three largest circuits after the closest {@code iterations} pairs are connected, or
+     * zero while there aren't that many pairs yet.
+     */
+    long part1() {
+        if (closest.size() < iterations) {
+            return 0;
+        }
+        long product = 1;
+        int taken = 0;
+        for (final Map.Entry<Integer, Integer> sizes : circuitSizes.descendingMap().entrySet()) {
+            for (int i = 0; i < sizes.getValue() && taken < 3; i++, taken++) {
+                product *= sizes.getKey();
+            }
+            if (taken == 3) {
+                break;
+            }
+        }
+        return product;
+    }
+
+    /**
+     * The X coordinates of the last pair needed to connect everything multiplied together, or zero before there's
+     * a pair at all.
+     */
+    long part2() {
+        if (treeEdges.isEmpty()) {
+            return 0;
+        }
+        final Link longest = treeEdges.last();
+        return points.get(longest.indexA()).x() * points.get(longest.indexB()).x();
+    }
+
+    Day08.Result result() {
+        return new Day08.Result(part1(), part2());
+    }
+
+    //#region Part 1
+    private void updateClosest() {
+        closer.sort(null);
+        pushedOut.clear();
+        for (final Link link : closer) {
+            if (closest.size() == iterations) {
+                if (link.compareTo(closest.last()) >= 0) {
+                    // The rest are further away still
+                    break;
+                }
+                pushedOut.add(closest.pollLast());
+            }
+            closest.add(link);
+        }
+        // Tree edges that were holding circuits together, but aren't close enough any more
+        for (final Link link : pushedOut) {
+            if (circuits.contains(link)) {
+                disconnect(link);
+            }
+        }
+    }
+
+    // Until there are enough pairs, every pair is one of them
+    private boolean connects(final Link treeEdge) {
+        return closest.size() < iterations || treeEdge.compareTo(closest.last()) <= 0;
+    }
+
+    private void connect(final Link link) {
+        final int sizeA = circuits.treeSize(link.indexA());
+        final int sizeB = circuits.treeSize(link.indexB());
+        removeCircuitSize(sizeA);
+        removeCircuitSize(sizeB);
+        addCircuitSize(sizeA + sizeB);
+        circuits.link(link);
+    }
+
+    private void disconnect(final Link link) {
+        final int size = circuits.treeSize(link.indexA());
+        circuits.cut(link);
+        final int sizeA = circuits.treeSize(link.indexA());
+        removeCircuitSize(size);
+        addCircuitSize(sizeA);
+        addCircuitSize(size - sizeA);
+    }
+
+    private void addCircuitSize(final int size) {
+        circuitSizes.merge(size, 1, Integer::sum);
+    }
+
+    private void removeCircuitSize(final int size) {
+        circuitSizes.merge(size, -1, (count, change) -> count + change == 0 ? null : count + change);
+    }
+    //endregion
+
+    //#region Part 2
+    private void updateSpanningTree() {
+        for (final Link link : coneNearest) {
+            if (link != null) {
+                candidates.add(link);
+            }
+        }
+        candidates.sort(null);
+        // The nearest neighbour is always in, and hangs the new point off the old tree
+        addTreeEdge(candidates.getFirst());
+        for (int i = 1; i < candidates.size(); i++) {
+            final Link link = candidates.get(i);
+            if (bypassed(link, i)) {
+                continue;
+            }
+            final Link heaviest = spanningTree.heaviest(link.indexA(), link.indexB());
+            if (link.compareTo(heaviest) < 0) {
+                removeTreeEdge(heaviest);
+                addTreeEdge(link);
+            }
+        }
+    }
+
+    // Whether an earlier (so closer) candidate is no further from the link's other end than the new point is,
+    // which makes the link the heaviest in their triangle - it's a cheaper check than the tree path
+    private boolean bypassed(final Link link, final int before) {
+        final Day08.Point other = points.get(link.indexA());
+        for (int i = 0; i < before; i++) {
+            // Ties go to the triangle's other edge, as it doesn't have the new point's index
+            if (points.get(candidates.get(i).indexA()).squaredDistanceTo(other) <= link.distance()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addTreeEdge(final Link link) {
+        spanningTree.link(link);
+        treeEdges.add(link);
+        treeLength += Math.sqrt((double) link.distance());
+        if (connects(link)) {
+            connect(link);
+        }
+    }
+
+    private void removeTreeEdge(final Link link) {
+        spanningTree.cut(link);
+        treeEdges.remove(link);
+        treeLength -= Math.sqrt((double) link.distance());
+        if (circuits.contains(link)) {
+            disconnect(link);
+        }
+    }
+    //endregion
+
+    //#region Search
+    // Finds the new point's pairs for part 1 and the edges it might add to the tree
+    private void search(final int index) {
+        closer.clear();
+        candidates.clear();
+        Arrays.fill(coneNearest, null);
+        nearestDistance = Long.MAX_VALUE;
+        if (closest.size() < iterations) {
+            // Every pair is needed for part 1 until there are enough of them
+            for (int other = 0; other < index; other++) {
+                consider(other, index, null);
+            }
+            return;
+        }
+        final Link furthest = closest.last();
+        final long longest = treeEdges.last().distance();
+        final Day08.Point point = points.get(index);
+        final long cx = Math.floorDiv(point.x(), cellSize);
+        final long cy = Math.floorDiv(point.y(), cellSize);
+        final long cz = Math.floorDiv(point.z(), cellSize);
+        for (long ring = 0; ; ring++) {
+            if (24 * ring * ring + 2 > cells.size()) {
+                // More cells in the ring than are occupied, so just check everything not already seen
+                for (int other = 0; other < index; other++) {
+                    if (ringOf(other, cx, cy, cz) >= ring) {
+                        consider(other, index, furthest);
+                    }
+                }
+                return;
+            }
+            for (long dx = -ring; dx <= ring; dx++) {
+                for (long dy = -ring; dy <= ring; dy++) {
+                    // Only the outside of the cube of cells is in the ring
+                    final long step = Math.abs(dx) == ring || Math.abs(dy) == ring ? 1 : 2 * ring;
+                    for (long dz = -ring; dz <= ring; dz += step) {
+                        final int[] cell = cells.get(cellKey(cx + dx, cy + dy, cz + dz));
+                        if (cell == null) {
+                            continue;
+                        }
+                        for (int i = 1; i <= cell[0]; i++) {
+                            // Cells far apart can share a key
+                            if (ringOf(cell[i], cx, cy, cz) == ring) {
+                                consider(cell[i], index, furthest);
+                            }
+                        }
+                    }
+                }
+            }
+            // Everything not seen yet is in a further ring, so is further away than this
+            final long radius = ring * cellSize >= 3_037_000_499L ? Long.MAX_VALUE : ring * cellSize * (ring * cellSize);
+            if (searched(point, radius, furthest.distance(), longest)) {
+                return;
+            }
+        }
+    }
+
+    private boolean searched(final Day08.Point point, final long radius, final long furthest, final long longest) {
+        if (furthest > radius || nearestDistance > radius) {
+            return false;
+        }
+        if (longest <= radius) {
+            return true;
+        }
+        for (int cone = 0; cone < CONES; cone++) {
+            final Link nearest = coneNearest[cone];
+            if ((nearest == null || nearest.distance() > radius) && reach(point, cone) > radius) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void consider(final int other, final int index, final Link furthest) {
+        final Day08.Point from = points.get(other);
+        final Day08.Point to = points.get(index);
+        final Link link = new Link(from.squaredDistanceTo(to), other, index);
+        nearestDistance = Math.min(nearestDistance, link.distance());
+        if (furthest == null || link.compareTo(furthest) < 0) {
+            closer.add(link);
+        }
+        if (link.distance() == 0) {
+            // On top of the new point, so not in any direction from it
+            candidates.add(link);
+            return;
+        }
+        final int cone = cone(from.x() - to.x(), from.y() - to.y(), from.z() - to.z());
+        if (coneNearest[cone] == null || link.compareTo(coneNearest[cone]) < 0) {
+            coneNearest[cone] = link;
+        }
+    }
+
+    private static int cone(final long dx, final long dy, final long dz) {
+        final long ax = Math.abs(dx);
+        final long ay = Math.abs(dy);
+        final long az = Math.abs(dz);
+        if (ax >= ay && ax >= az) {
+            return cone(0, dx, dy, dz);
+        }
+        return ay >= az ? cone(1, dy, dx, dz) : cone(2, dz, dx, dy);
+    }
+
+    private static int cone(final int axis, final long along, final long u, final long v) {
+        final long extent = Math.abs(along);
+        return (2 * axis + (along > 0 ? 0 : 1)) * 9 + third(u, extent) * 3 + third(v, extent);
+    }
+
+    private static int third(final long offset, final long extent) {
+        return (int) Math.min(2, (offset + extent) * 3 / (2 * extent));
+    }
+
+    // The furthest (squared) any point in the cone can be, from how far the points go along its axis
+    private long reach(final Day08.Point point, final int cone) {
+        final int face = cone / 9;
+        final int axis = face / 2;
+        final long coordinate = axis == 0 ? point.x() : axis == 1 ? point.y() : point.z();
+        final long extent = face % 2 == 0 ? highest[axis] - coordinate : coordinate - lowest[axis];
+        if (extent <= 0) {
+            return -1;
+        }
+        // Nothing in the cone is more than root 3 times as far away as it is along the axis
+        return extent >= 1_753_413_056L ? Long.MAX_VALUE : 3 * extent * extent;
+    }
+    //endregion
+
+    //#region Grid
+    private long ringOf(final int other, final long cx, final long cy, final long cz) {
+        final Day08.Point point = points.get(other);
+        final long ox = Math.abs(Math.floorDiv(point.x(), cellSize) - cx);
+        final long oy = Math.abs(Math.floorDiv(point.y(), cellSize) - cy);
+        final long oz = Math.abs(Math.floorDiv(point.z(), cellSize) - cz);
+        return Math.max(ox, Math.max(oy, oz));
+    }
+
+    private void addToGrid(final int index) {
+        final Day08.Point point = points.get(index);
+        final long key = cellKey(Math.floorDiv(point.x(), cellSize), Math.floorDiv(point.y(), cellSize), Math.floorDiv(point.z(), cellSize));
+        // The first slot is how many are in the cell
+        int[] cell = cells.get(key);
+        if (cell == null) {
+            cell = new int[4];
+        } else if (cell[0] == cell.length - 1) {
+            cell = Arrays.copyOf(cell, cell.length * 2);
+        }
+        cell[++cell[0]] = index;
+        cells.put(key, cell);
+    }
+
+    private void regrid(final long newCellSize) {
+        cellSize = newCellSize;
+        cells.clear();
+        for (int i = 0; i < points.size(); i++) {
+            addToGrid(i);
+        }
+        // Also a chance to drop the rounding built up from adding and taking away edges
+        treeLength = 0;
+        for (final Link link : treeEdges) {
+            treeLength += Math.sqrt((double) link.distance());
+        }
+    }
+
+    private static long cellKey(final long cx, final long cy, final long cz) {
+        return ((cx & CELL_MASK) << (2 * CELL_BITS)) | ((cy & CELL_MASK) << CELL_BITS) | (cz & CELL_MASK);
+    }
+    //endregion
+}
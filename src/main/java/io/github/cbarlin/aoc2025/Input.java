@@ -0,0 +1,101 @@
+package io.github.cbarlin.aoc2025;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * A puzzle input as raw bytes, memory-mapped straight from the file rather than decoded into Strings.
+ * <p>
+ * Parsing goes through {@link InputCursor}s, which don't allocate, and several cursors can work over different
+ * parts of the same input at once (see {@link #lineStartAtOrAfter} for splitting it up). Closing a mapped input
+ * unmaps it, so nothing read from it can be used afterwards.
+ */
+final class Input implements AutoCloseable {
+    private static final long DIGEST_SLICE = 1L << 30;
+
+    private final Arena arena;
+    private final MemorySegment bytes;
+
+    private Input(final Arena arena, final MemorySegment bytes) {
+        this.arena = arena;
+        this.bytes = bytes;
+    }
+
+    static Input map(final Path path) throws IOException {
+        final Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new Input(arena, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    // For input that's already in memory (e.g. generated for a benchmark)
+    static Input of(final byte[] bytes) {
+        return new Input(null, MemorySegment.ofArray(bytes));
+    }
+
+    long size() {
+        return bytes.byteSize();
+    }
+
+    byte get(final long position) {
+        return bytes.get(ValueLayout.JAVA_BYTE, position);
+    }
+
+    void copy(final long from, final byte[] into, final int length) {
+        MemorySegment.copy(bytes, ValueLayout.JAVA_BYTE, from, into, 0, length);
+    }
+
+    // Feeds every byte into the digest, a slice at a time since a ByteBuffer can't cover more than 2GiB
+    void digest(final MessageDigest digest) {
+        for (long offset = 0; offset < size(); offset += DIGEST_SLICE) {
+            digest.update(bytes.asSlice(offset, Math.min(DIGEST_SLICE, size() - offset)).asByteBuffer());
+        }
+    }
+
+    InputCursor cursor() {
+        return new InputCursor(this, 0, size());
+    }
+
+    InputCursor cursor(final long from, final long to) {
+        return new InputCursor(this, from, to);
+    }
+
+    /**
+     * The first position at or after the given one that starts a line, or the size if there isn't one.
+     */
+    long lineStartAtOrAfter(long position) {
+        while (position > 0 && position < size() && get(position - 1) != '\n') {
+            position++;
+        }
+        return Math.min(position, size());
+    }
+
+    /**
+     * Splits the input into about {@code count} runs of whole lines, returning where each starts (and where the
+     * last ends). Runs can come out empty.
+     */
+    long[] splitLines(final int count) {
+        final long[] bounds = new long[count + 1];
+        bounds[count] = size();
+        for (int chunk = 1; chunk < count; chunk++) {
+            bounds[chunk] = Math.max(bounds[chunk - 1], lineStartAtOrAfter(size() * chunk / count));
+        }
+        return bounds;
+    }
+
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.cbarlin.aoc2025;
+
+/**
+ * Reads through part of an {@link Input}, a byte at a time.
+ * <p>
+ * Numbers are parsed straight from the digits and lines are only ever positions, so nothing is allocated.
+ * Lines can end in {@code \n} or {@code \r\n}, and the last one doesn't have to end at all.
+ */
+final class InputCursor {
+    private final Input input;
+    private final long limit;
+    private long position;
+    private long lineStart;
+
+    InputCursor(final Input input, final long from, final long to) {
+        this.input = input;
+        this.position = from;
+        this.lineStart = from;
+        this.limit = to;
+    }
+
+    boolean hasRemaining() {
+        return position < limit;
+    }
+
+    long position() {
+        return position;
+    }
+
+    // Where the line the cursor is on started
+    long lineStart() {
+        return lineStart;
+    }
+
+    byte peek() {
+        return input.get(position);
+    }
+
+    byte next() {
+        return input.get(position++);
+    }
+
+    boolean atLineEnd() {
+        if (position >= limit) {
+            return true;
+        }
+        final byte b = peek();
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Where the current line ends, not counting the line break - the cursor doesn't move.
+     */
+    long lineEnd() {
+        long end = position;
+        while (end < limit && input.get(end) != '\n') {
+            end++;
+        }
+        return end > position && input.get(end - 1) == '\r' ? end - 1 : end;
+    }
+
+    /**
+     * Moves to the start of the next line, returning whether there is one.
+     */
+    boolean nextLine() {
+        while (position < limit && input.get(position) != '\n') {
+            position++;
+        }
+        if (position < limit) {
+            position++;
+        }
+        lineStart = position;
+        return position < limit;
+    }
+
+    // Skips any empty lines, stopping at the start of a line with something on it (or the end)
+    void skipBlankLines() {
+        while (position < limit && (peek() == '\n' || peek() == '\r')) {
+            position++;
+            lineStart = position;
+        }
+    }
+
+    void skipSpaces() {
+        while (position < limit && (peek() == ' ' || peek() == '\t')) {
+            position++;
+        }
+    }
+
+    /**
+     * Moves past the given byte if it's next, returning whether it was.
+     */
+    boolean skip(final byte expected) {
+        if (position < limit && peek() == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    void expect(final byte expected) {
+        if (!skip(expected)) {
+            throw new IllegalStateException("Expected '" + (char) expected + "' at " + position);
+        }
+    }
+
+    // Moves past exactly length bytes, copying them into the start of the array
+    void read(final byte[] into, final int length) {
+        input.copy(position, into, length);
+        position += length;
+    }
+
+    /**
+     * Parses the digits at the cursor (after any spaces), leaving it just after them.
+     */
+    long nextUnsignedLong() {
+        skipSpaces();
+        if (position >= limit || !isDigit(peek())) {
+            throw new IllegalStateException("Expected a digit at " + position);
+        }
+        long value = 0;
+        while (position < limit && isDigit(peek())) {
+            value = value * 10 + (next() - '0');
+        }
+        return value;
+    }
+
+    long nextLong() {
+        skipSpaces();
+        return skip((byte) '-') ? -nextUnsignedLong() : nextUnsignedLong();
+    }
+
+    /**
+     * Parses the digits in a fixed-width column of the current line, {@code [from, to)} from its start,
+     * ignoring spaces (and anything past the end of the line). Returns -1 if there aren't any. The cursor doesn't move.
+     */
+    long column(final int from, final int to) {
+        long value = -1;
+        final long end = Math.min(lineStart + to, limit);
+        for (long at = lineStart + from; at < end; at++) {
+            final byte b = input.get(at);
+            if (isDigit(b)) {
+                value = Math.max(value, 0) * 10 + (b - '0');
+            } else if (b == '\n' || b == '\r') {
+                break;
+            }
+        }
+        return value;
+    }
+
+    private static boolean isDigit(final byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.cbarlin.aoc2025;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times the phases of a day (parsing, solving, checking) and how much each one allocates.
+ * <p>
+ * {@link Application} binds a {@link Recorder} to {@link #RECORDER} for each run, and every {@link #phase} inside
+ * it is measured and also committed as a JFR {@link PhaseEvent} (so it shows up in a recording with no profiler
+ * attached). Outside of a run - benchmarks, runDay() - phases are just called.
+ * <p>
+ * Allocation is counted for the thread running the phase only: anything a day hands to the common ForkJoinPool
+ * (e.g. parallel streams) is left out, and so are phases inside those tasks.
+ */
+final class Instrumentation {
+    static final ScopedValue<Recorder> RECORDER = ScopedValue.newInstance();
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Instrumentation() {
+    }
+
+    @FunctionalInterface
+    interface Phase<T, X extends Exception> {
+        T run() throws X;
+    }
+
+    record Measurement(
+            String phase,
+            long nanos,
+            // -1 when the JVM can't say
+            long allocatedBytes
+    ) {}
+
+    // Everything measured in one run (a day against one input). Only used from the thread doing the run
+    static final class Recorder {
+        private final int day;
+        private final String input;
+        private final List<Measurement> measurements = new ArrayList<>();
+
+        Recorder(final int day, final String input) {
+            this.day = day;
+            this.input = input;
+        }
+
+        List<Measurement> measurements() {
+            return measurements;
+        }
+    }
+
+    @Name("io.github.cbarlin.aoc2025.Phase")
+    @Label("Puzzle Phase")
+    @Category("Advent of Code")
+    static final class PhaseEvent extends Event {
+        @Label("Day")
+        int day;
+
+        @Label("Input")
+        String input;
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocatedBytes;
+    }
+
+    static <T, X extends Exception> T phase(final String name, final Phase<T, X> body) throws X {
+        if (!RECORDER.isBound()) {
+            return body.run();
+        }
+        final Recorder recorder = RECORDER.get();
+        final PhaseEvent event = new PhaseEvent();
+        event.begin();
+        final long allocatedBefore = allocatedBytes();
+        final long start = System.nanoTime();
+        try {
+            return body.run();
+        } finally {
+            final long nanos = System.nanoTime() - start;
+            final long allocatedAfter = allocatedBytes();
+            final long allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+            recorder.measurements.add(new Measurement(name, nanos, allocated));
+            event.end();
+            if (event.shouldCommit()) {
+                event.day = recorder.day;
+                event.input = recorder.input;
+                event.phase = name;
+                event.allocatedBytes = allocated;
+                event.commit();
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.isThreadAllocatedMemoryEnabled() ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    //#region Reporting
+    static String table(final List<Recorder> recorders) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("%-4s %-5s %-10s %12s %14s%n".formatted("Day", "Input", "Phase", "Time (ms)", "Alloc (KiB)"));
+        for (final Recorder recorder : recorders) {
+            for (final Measurement measurement : recorder.measurements) {
+                sb.append("%-4s %-5s %-10s %12.3f %14s%n".formatted(
+                        "%02d".formatted(recorder.day),
+                        recorder.input,
+                        measurement.phase(),
+                        measurement.nanos() / 1_000_000.0,
+                        measurement.allocatedBytes() < 0 ? "n/a" : Long.toString(measurement.allocatedBytes() / 1024)
+                ));
+            }
+        }
+        return sb.toString();
+    }
+
+    static String json(final List<Recorder> recorders) {
+        final StringBuilder sb = new StringBuilder("[");
+        for (final Recorder recorder : recorders) {
+            for (final Measurement measurement : recorder.measurements) {
+                if (sb.length() > 1) {
+                    sb.append(',');
+                }
+                // Phase and input names are all fixed identifiers, so nothing needs escaping
+                sb.append("\n  {\"day\": ").append(recorder.day)
+                        .append(", \"input\": \"").append(recorder.input)
+                        .append("\", \"phase\": \"").append(measurement.phase())
+                        .append("\", \"nanos\": ").append(measurement.nanos())
+                        .append(", \"allocatedBytes\": ").append(measurement.allocatedBytes())
+                        .append('}');
+            }
+        }
+        return sb.append("\n]").toString();
+    }
+    //endregion
+}
@@ -0,0 +1,263 @@
+package io.github.cbarlin.aoc2025;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A forest of the {@link IncrementalCircuits} points (numbered as they're added), joined and split one
+ * {@link IncrementalCircuits.Link} at a time, that can say which link is the heaviest on the path between two
+ * points and how many points are in a tree - all in amortised logarithmic time.
+ * <p>
+ * This is a link-cut tree: each tree is split into paths, each path kept in a splay tree in path order, with the
+ * top of each splay tree pointing up to where its path hangs off. Links are nodes too, sat between their two
+ * points, so the heaviest on a path is just the heaviest node in it. Each splay node also keeps how many points
+ * are below it, counting the paths hanging off it, so a tree's size is read from the top of its root path.
+ */
+final class LinkCutForest {
+    private static final int NONE = -1;
+
+    private int[] left = new int[0];
+    private int[] right = new int[0];
+    // The splay tree parent, or for the top of a splay tree, the node its path hangs off
+    private int[] parent = new int[0];
+    // Swap the children of everything below before using them
+    private boolean[] flipped = new boolean[0];
+    private IncrementalCircuits.Link[] key = new IncrementalCircuits.Link[0];
+    private int[] heaviest = new int[0];
+    // Points in the splay subtree plus in everything hanging off it
+    private int[] points = new int[0];
+    private int[] hanging = new int[0];
+    private int[] splayPath = new int[0];
+    private int nodes;
+
+    private int[] free = new int[0];
+    private int freeCount;
+    private int[] pointNode = new int[16];
+    private int pointCount;
+    private final Map<IncrementalCircuits.Link, Integer> linkNode = new HashMap<>();
+
+    /**
+     * Adds the next point, on its own.
+     */
+    void addPoint() {
+        if (pointCount == pointNode.length) {
+            pointNode = Arrays.copyOf(pointNode, pointCount * 2);
+        }
+        pointNode[pointCount++] = newNode(null);
+    }
+
+    boolean contains(final IncrementalCircuits.Link link) {
+        return linkNode.containsKey(link);
+    }
+
+    /**
+     * Joins the two trees the link's points are in, which mustn't be the same one.
+     */
+    void link(final IncrementalCircuits.Link link) {
+        final int node = newNode(link);
+        linkNode.put(link, node);
+        join(pointNode[link.indexA()], node);
+        join(node, pointNode[link.indexB()]);
+    }
+
+    void cut(final IncrementalCircuits.Link link) {
+        final int node = linkNode.remove(link);
+        split(pointNode[link.indexA()], node);
+        split(node, pointNode[link.indexB()]);
+        free[freeCount++] = node;
+    }
+
+    /**
+     * The heaviest link on the path between two points in the same tree, or null if they're the same point.
+     */
+    IncrementalCircuits.Link heaviest(final int pointA, final int pointB) {
+        makeRoot(pointNode[pointA]);
+        final int node = pointNode[pointB];
+        access(node);
+        return heaviest[node] == NONE ? null : key[heaviest[node]];
+    }
+
+    int treeSize(final int point) {
+        final int node = pointNode[point];
+        access(node);
+        return points[node];
+    }
+
+    //#region Nodes
+    private int newNode(final IncrementalCircuits.Link link) {
+        final int node;
+        if (freeCount > 0) {
+            node = free[--freeCount];
+        } else {
+            if (nodes == left.length) {
+                grow(Math.max(16, nodes * 2));
+            }
+            node = nodes++;
+        }
+        left[node] = NONE;
+        right[node] = NONE;
+        parent[node] = NONE;
+        flipped[node] = false;
+        key[node] = link;
+        heaviest[node] = link == null ? NONE : node;
+        points[node] = link == null ? 1 : 0;
+        hanging[node] = 0;
+        return node;
+    }
+
+    private void grow(final int capacity) {
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        flipped = Arrays.copyOf(flipped, capacity);
+        key = Arrays.copyOf(key, capacity);
+        heaviest = Arrays.copyOf(heaviest, capacity);
+        points = Arrays.copyOf(points, capacity);
+        hanging = Arrays.copyOf(hanging, capacity);
+        splayPath = Arrays.copyOf(splayPath, capacity);
+        free = Arrays.copyOf(free, capacity);
+    }
+
+    private int heavier(final int a, final int b) {
+        if (a == NONE) {
+            return b;
+        }
+        if (b == NONE) {
+            return a;
+        }
+        return key[a].compareTo(key[b]) >= 0 ? a : b;
+    }
+
+    private void update(final int node) {
+        int total = (key[node] == null ? 1 : 0) + hanging[node];
+        int heaviestBelow = key[node] == null ? NONE : node;
+        if (left[node] != NONE) {
+            total += points[left[node]];
+            heaviestBelow = heavier(heaviestBelow, heaviest[left[node]]);
+        }
+        if (right[node] != NONE) {
+            total += points[right[node]];
+            heaviestBelow = heavier(heaviestBelow, heaviest[right[node]]);
+        }
+        points[node] = total;
+        heaviest[node] = heaviestBelow;
+    }
+
+    private void pushFlip(final int node) {
+        if (flipped[node]) {
+            final int swap = left[node];
+            left[node] = right[node];
+            right[node] = swap;
+            if (left[node] != NONE) {
+                flipped[left[node]] ^= true;
+            }
+            if (right[node] != NONE) {
+                flipped[right[node]] ^= true;
+            }
+            flipped[node] = false;
+        }
+    }
+    //endregion
+
+    //#region Splay trees
+    private boolean isSplayRoot(final int node) {
+        final int above = parent[node];
+        return above == NONE || (left[above] != node && right[above] != node);
+    }
+
+    private void rotate(final int node) {
+        final int above = parent[node];
+        final int twoAbove = parent[above];
+        final boolean aboveWasRoot = isSplayRoot(above);
+        if (left[above] == node) {
+            left[above] = right[node];
+            if (right[node] != NONE) {
+                parent[right[node]] = above;
+            }
+            right[node] = above;
+        } else {
+            right[above] = left[node];
+            if (left[node] != NONE) {
+                parent[left[node]] = above;
+            }
+            left[node] = above;
+        }
+        parent[above] = node;
+        parent[node] = twoAbove;
+        if (!aboveWasRoot) {
+            if (left[twoAbove] == above) {
+                left[twoAbove] = node;
+            } else {
+                right[twoAbove] = node;
+            }
+        }
+        update(above);
+        update(node);
+    }
+
+    private void splay(final int node) {
+        // Flips are pushed down from the top, so the path to the node is in order before rotating
+        int depth = 0;
+        splayPath[depth++] = node;
+        for (int at = node; !isSplayRoot(at); at = parent[at]) {
+            splayPath[depth++] = parent[at];
+        }
+        while (depth > 0) {
+            pushFlip(splayPath[--depth]);
+        }
+        while (!isSplayRoot(node)) {
+            final int above = parent[node];
+            if (!isSplayRoot(above)) {
+                final boolean sameSide = (left[parent[above]] == above) == (left[above] == node);
+                rotate(sameSide ? above : node);
+            }
+            rotate(node);
+        }
+    }
+    //endregion
+
+    //#region Paths
+    // Makes the path from the root to the node one splay tree, with the node at its top and nothing after it
+    private void access(final int node) {
+        int below = NONE;
+        for (int at = node; at != NONE; at = parent[at]) {
+            splay(at);
+            // The rest of its old path now hangs off it, and the path from below doesn't any more
+            if (right[at] != NONE) {
+                hanging[at] += points[right[at]];
+            }
+            if (below != NONE) {
+                hanging[at] -= points[below];
+            }
+            right[at] = below;
+            update(at);
+            below = at;
+        }
+        splay(node);
+    }
+
+    private void makeRoot(final int node) {
+        access(node);
+        flipped[node] ^= true;
+    }
+
+    private void join(final int child, final int node) {
+        makeRoot(child);
+        access(node);
+        parent[child] = node;
+        hanging[node] += points[child];
+        update(node);
+    }
+
+    // The two nodes must be next to each other
+    private void split(final int top, final int node) {
+        makeRoot(top);
+        access(node);
+        // The path is just the two of them, so the top is all that's before the node
+        parent[left[node]] = NONE;
+        left[node] = NONE;
+        update(node);
+    }
+    //endregion
+}
@@ -0,0 +1,121 @@
+package io.github.cbarlin.aoc2025;
+
+/**
+ * Lazily produces the edges between junction boxes, closest first, without ever materialising every pair.
+ * <p>
+ * Every point keeps a cursor into its own nearest neighbours (fetched from the {@link PointKdTree} in
+ * doubling batches) and a heap holds the next neighbour of each point. Each pair shows up once from either
+ * end, so it is only emitted from its lower index - which also gives the same (distance, a, b) order as
+ * sorting the full edge list.
+ */
+final class NearestEdgeFrontier implements Day08.EdgeSource {
+    private static final int INITIAL_NEIGHBOURS = 4;
+
+    private final PointKdTree tree;
+    private final int[][] neighbours;
+    private final int[] cursor;
+    // Heap of point indexes, keyed on the distance to the neighbour under their cursor
+    private final int[] heap;
+    private final long[] heapDistance;
+    private int heapSize;
+
+    private int currentA = -1;
+    private int currentB = -1;
+    private long currentDistance = -1;
+
+    NearestEdgeFrontier(final PointKdTree tree) {
+        this.tree = tree;
+        final int size = tree.size();
+        neighbours = new int[size][];
+        cursor = new int[size];
+        heap = new int[size];
+        heapDistance = new long[size];
+        if (size < 2) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            neighbours[i] = tree.nearest(i, INITIAL_NEIGHBOURS);
+            heap[heapSize] = i;
+            heapDistance[heapSize] = tree.distanceSquared(i, neighbours[i][0]);
+            heapSize++;
+        }
+        for (int i = (heapSize >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, heap[i], heapDistance[i]);
+        }
+    }
+
+    @Override
+    public boolean advance() {
+        while (heapSize > 0) {
+            final int point = heap[0];
+            final int other = neighbours[point][cursor[point]];
+            final long distance = heapDistance[0];
+            moveCursor(point);
+            if (point < other) {
+                currentA = point;
+                currentB = other;
+                currentDistance = distance;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int indexA() {
+        return currentA;
+    }
+
+    @Override
+    public int indexB() {
+        return currentB;
+    }
+
+    long distanceSquared() {
+        return currentDistance;
+    }
+
+    // Step the point at the top of the heap onto its next neighbour, fetching more if needed
+    private void moveCursor(final int point) {
+        final int next = ++cursor[point];
+        if (next == neighbours[point].length) {
+            final int fetched = neighbours[point].length;
+            if (fetched >= tree.size() - 1) {
+                // Seen every other point
+                final int lastIndex = --heapSize;
+                if (lastIndex > 0) {
+                    siftDown(0, heap[lastIndex], heapDistance[lastIndex]);
+                }
+                return;
+            }
+            // Ties are broken the same way each time, so the first entries are unchanged
+            neighbours[point] = tree.nearest(point, fetched * 2);
+        }
+        siftDown(0, point, tree.distanceSquared(point, neighbours[point][next]));
+    }
+
+    private void siftDown(int i, final int point, final long distance) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && before(heap[child + 1], heapDistance[child + 1], heap[child], heapDistance[child])) {
+                child++;
+            }
+            if (!before(heap[child], heapDistance[child], point, distance)) {
+                break;
+            }
+            heap[i] = heap[child];
+            heapDistance[i] = heapDistance[child];
+            i = child;
+        }
+        heap[i] = point;
+        heapDistance[i] = distance;
+    }
+
+    // Each point is in the heap at most once, so (distance, point) is enough to order it
+    private static boolean before(final int pointA, final long distanceA, final int pointB, final long distanceB) {
+        return distanceA < distanceB || (distanceA == distanceB && pointA < pointB);
+    }
+}
@@ -0,0 +1,270 @@
+package io.github.cbarlin.aoc2025;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.List;
+
+/**
+ * Every pair of junction boxes from {@link Day08}, packed into primitive longs instead of {@code Edge} records.
+ * <p>
+ * Each edge is keyed on (squared distance, indexA, indexB). When those fit into 63 bits they share a single
+ * long, so the long itself is the sort key; otherwise the distance and the index pair take a long each and
+ * are compared in that order. Small buffers live on the heap, large ones off-heap in a {@link MemorySegment}.
+ * <p>
+ * Nothing is sorted up front: the buffer quickselects the closest window of edges, radix sorts just that
+ * window, and only moves on to (double) the next window once the consumer gets there.
+ */
+final class PackedEdgeBuffer implements Day08.EdgeSource, AutoCloseable {
+    // In longs - 128MiB
+    private static final long OFF_HEAP_THRESHOLD = 1L << 24;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private final Arena arena;
+    private final MemorySegment edges;
+    private final int stride;
+    private final int indexBits;
+    private final long count;
+
+    private long sortedUpTo;
+    private long window;
+    private long cursor = -1;
+
+    private PackedEdgeBuffer(final int points, final long maxDistance, final long firstWindow) {
+        indexBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(1, points - 1)));
+        final int distanceBits = 64 - Long.numberOfLeadingZeros(maxDistance);
+        stride = distanceBits + 2 * indexBits <= 63 ? 1 : 2;
+        count = (long) points * (points - 1) / 2;
+        final long longs = count * stride;
+        if (longs <= OFF_HEAP_THRESHOLD) {
+            arena = null;
+            edges = MemorySegment.ofArray(new long[(int) longs]);
+        } else {
+            arena = Arena.ofShared();
+            edges = arena.allocate(longs * Long.BYTES, Long.BYTES);
+        }
+        window = Math.max(1, firstWindow);
+    }
+
+    /**
+     * Packs every pair of points, ready to hand out the closest {@code firstWindow} edges without a full sort.
+     */
+    static PackedEdgeBuffer allPairs(final List<Day08.Point> points, final long firstWindow) {
+        long minX = Long.MAX_VALUE, minY = Long.MAX_VALUE, minZ = Long.MAX_VALUE;
+        long maxX = Long.MIN_VALUE, maxY = Long.MIN_VALUE, maxZ = Long.MIN_VALUE;
+        for (final Day08.Point point : points) {
+            minX = Math.min(minX, point.x());
+            minY = Math.min(minY, point.y());
+            minZ = Math.min(minZ, point.z());
+            maxX = Math.max(maxX, point.x());
+            maxY = Math.max(maxY, point.y());
+            maxZ = Math.max(maxZ, point.z());
+        }
+        final long maxDistance = points.isEmpty() ? 0 :
+                (maxX - minX) * (maxX - minX) + (maxY - minY) * (maxY - minY) + (maxZ - minZ) * (maxZ - minZ);
+        final PackedEdgeBuffer buffer = new PackedEdgeBuffer(points.size(), maxDistance, firstWindow);
+        long edge = 0;
+        for (int iA = 0; iA < points.size(); iA++) {
+            final Day08.Point a = points.get(iA);
+            for (int iB = iA + 1; iB < points.size(); iB++) {
+                buffer.put(edge++, a.squaredDistanceTo(points.get(iB)), iA, iB);
+            }
+        }
+        return buffer;
+    }
+
+    long size() {
+        return count;
+    }
+
+    //#region Packing
+    private void put(final long edge, final long distance, final int indexA, final int indexB) {
+        if (stride == 1) {
+            edges.setAtIndex(ValueLayout.JAVA_LONG, edge, (distance << (2 * indexBits)) | ((long) indexA << indexBits) | indexB);
+        } else {
+            edges.setAtIndex(ValueLayout.JAVA_LONG, 2 * edge, distance);
+            edges.setAtIndex(ValueLayout.JAVA_LONG, 2 * edge + 1, ((long) indexA << 32) | indexB);
+        }
+    }
+
+    private long word(final long edge, final int word) {
+        return edges.getAtIndex(ValueLayout.JAVA_LONG, edge * stride + word);
+    }
+
+    private void swap(final long a, final long b) {
+        for (int w = 0; w < stride; w++) {
+            final long tmp = word(a, w);
+            edges.setAtIndex(ValueLayout.JAVA_LONG, a * stride + w, word(b, w));
+            edges.setAtIndex(ValueLayout.JAVA_LONG, b * stride + w, tmp);
+        }
+    }
+
+    // All words are non-negative, so a signed compare of each in turn is the key order
+    private int compare(final long edge, final long key0, final long key1) {
+        final int first = Long.compare(word(edge, 0), key0);
+        if (first != 0 || stride == 1) {
+            return first;
+        }
+        return Long.compare(word(edge, 1), key1);
+    }
+
+    long distanceSquared(final long edge) {
+        return stride == 1 ? word(edge, 0) >>> (2 * indexBits) : word(edge, 0);
+    }
+
+    int indexA(final long edge) {
+        return stride == 1 ? (int) ((word(edge, 0) >>> indexBits) & ((1L << indexBits) - 1)) : (int) (word(edge, 1) >>> 32);
+    }
+
+    int indexB(final long edge) {
+        return stride == 1 ? (int) (word(edge, 0) & ((1L << indexBits) - 1)) : (int) word(edge, 1);
+    }
+    //endregion
+
+    //#region EdgeSource
+    @Override
+    public boolean advance() {
+        cursor++;
+        if (cursor >= count) {
+            return false;
+        }
+        if (cursor == sortedUpTo) {
+            sortNextWindow();
+        }
+        return true;
+    }
+
+    @Override
+    public int indexA() {
+        return indexA(cursor);
+    }
+
+    @Override
+    public int indexB() {
+        return indexB(cursor);
+    }
+
+    private void sortNextWindow() {
+        final long end = Math.min(count, sortedUpTo + window);
+        if (end < count) {
+            select(sortedUpTo, count - 1, end);
+        }
+        radixSort(sortedUpTo, end, 0);
+        sortedUpTo = end;
+        window *= 2;
+    }
+    //endregion
+
+    //#region Selection
+    // Quickselect so that [lo, k) holds the smallest edges of [lo, hi]
+    private void select(long lo, long hi, final long k) {
+        while (hi > lo) {
+            final long middle = lo + ((hi - lo) >>> 1);
+            final long pivot0 = word(middle, 0);
+            final long pivot1 = stride == 1 ? 0 : word(middle, 1);
+            long i = lo;
+            long j = hi;
+            while (i <= j) {
+                while (compare(i, pivot0, pivot1) < 0) {
+                    i++;
+                }
+                while (compare(j, pivot0, pivot1) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k > i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+    //endregion
+
+    //#region Sorting
+    private int digit(final long edge, final int digit) {
+        return (int) (word(edge, digit >>> 3) >>> (56 - 8 * (digit & 7))) & 0xFF;
+    }
+
+    // In-place MSD radix sort (American flag sort) over the key bytes, most significant first
+    private void radixSort(final long lo, final long hi, final int digit) {
+        if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(lo, hi);
+            return;
+        }
+        if (digit == stride * 8) {
+            return;
+        }
+        final long[] counts = new long[256];
+        for (long e = lo; e < hi; e++) {
+            counts[digit(e, digit)]++;
+        }
+        // Leading bytes are often the same for everything (e.g. zero), so skip straight past them
+        for (final long bucketCount : counts) {
+            if (bucketCount == hi - lo) {
+                radixSort(lo, hi, digit + 1);
+                return;
+            } else if (bucketCount != 0) {
+                break;
+            }
+        }
+        final long[] next = new long[256];
+        final long[] ends = new long[256];
+        long offset = lo;
+        for (int b = 0; b < 256; b++) {
+            next[b] = offset;
+            offset += counts[b];
+            ends[b] = offset;
+        }
+        for (int b = 0; b < 256; b++) {
+            while (next[b] < ends[b]) {
+                final int value = digit(next[b], digit);
+                if (value == b) {
+                    next[b]++;
+                } else {
+                    swap(next[b], next[value]++);
+                }
+            }
+        }
+        long start = lo;
+        for (int b = 0; b < 256; b++) {
+            if (ends[b] - start > 1) {
+                radixSort(start, ends[b], digit + 1);
+            }
+            start = ends[b];
+        }
+    }
+
+    private void insertionSort(final long lo, final long hi) {
+        for (long i = lo + 1; i < hi; i++) {
+            final long key0 = word(i, 0);
+            final long key1 = stride == 1 ? 0 : word(i, 1);
+            long j = i - 1;
+            while (j >= lo && compare(j, key0, key1) > 0) {
+                for (int w = 0; w < stride; w++) {
+                    edges.setAtIndex(ValueLayout.JAVA_LONG, (j + 1) * stride + w, word(j, w));
+                }
+                j--;
+            }
+            edges.setAtIndex(ValueLayout.JAVA_LONG, (j + 1) * stride, key0);
+            if (stride == 2) {
+                edges.setAtIndex(ValueLayout.JAVA_LONG, (j + 1) * stride + 1, key1);
+            }
+        }
+    }
+    //endregion
+
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+        }
+    }
+}
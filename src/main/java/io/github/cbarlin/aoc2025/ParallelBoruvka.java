@@ -0,0 +1,130 @@
+package io.github.cbarlin.aoc2025;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Borůvka's algorithm over the complete graph of {@link Day08} junction boxes, run on the common ForkJoinPool.
+ * <p>
+ * Every round each point finds its closest point in another circuit (generating the distances on the fly,
+ * rather than storing them), each circuit keeps the best of its members' edges, and all of those are
+ * unioned at once through a {@link Day08.ConcurrentUnionFind}. Edges are ordered on (squared distance,
+ * indexA, indexB), so the spanning tree is the same one Kruskal's builds and its largest edge is the last
+ * one Kruskal's would union.
+ */
+final class ParallelBoruvka {
+    private static final int NONE = -1;
+
+    private final long[] xs;
+    private final long[] ys;
+    private final long[] zs;
+    private final int size;
+
+    private ParallelBoruvka(final List<Day08.Point> points) {
+        size = points.size();
+        xs = new long[size];
+        ys = new long[size];
+        zs = new long[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = points.get(i).x();
+            ys[i] = points.get(i).y();
+            zs[i] = points.get(i).z();
+        }
+    }
+
+    /**
+     * The two points joined by the edge that finally connects every circuit, or {@code null} if there is no such edge.
+     */
+    static int[] lastConnectingEdge(final List<Day08.Point> points) {
+        return new ParallelBoruvka(points).run();
+    }
+
+    private long distanceSquared(final int a, final int b) {
+        final long dx = xs[a] - xs[b];
+        final long dy = ys[a] - ys[b];
+        final long dz = zs[a] - zs[b];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static boolean before(final long distanceA, final int lowA, final int highA,
+                                  final long distanceB, final int lowB, final int highB) {
+        if (distanceA != distanceB) {
+            return distanceA < distanceB;
+        }
+        if (lowA != lowB) {
+            return lowA < lowB;
+        }
+        return highA < highB;
+    }
+
+    private int[] run() {
+        if (size < 2) {
+            return null;
+        }
+        final Day08.ConcurrentUnionFind uf = new Day08.ConcurrentUnionFind(size);
+        final int[] circuit = new int[size];
+        final long[] bestDistance = new long[size];
+        final int[] bestOther = new int[size];
+        // Per circuit root: the best edge leaving it this round
+        final long[] rootDistance = new long[size];
+        final int[] rootLow = new int[size];
+        final int[] rootHigh = new int[size];
+
+        long maxDistance = -1;
+        int maxLow = NONE;
+        int maxHigh = NONE;
+        int circuits = size;
+        while (circuits > 1) {
+            IntStream.range(0, size).parallel().forEach(i -> circuit[i] = uf.find(i));
+            IntStream.range(0, size).parallel().forEach(i -> closestOutside(i, circuit, bestDistance, bestOther));
+
+            Arrays.fill(rootLow, NONE);
+            for (int i = 0; i < size; i++) {
+                final int other = bestOther[i];
+                final int root = circuit[i];
+                final int low = Math.min(i, other);
+                final int high = Math.max(i, other);
+                if (rootLow[root] == NONE || before(bestDistance[i], low, high, rootDistance[root], rootLow[root], rootHigh[root])) {
+                    rootDistance[root] = bestDistance[i];
+                    rootLow[root] = low;
+                    rootHigh[root] = high;
+                }
+            }
+
+            final int[] roots = IntStream.range(0, size).filter(i -> rootLow[i] != NONE).toArray();
+            // Every chosen edge is in the spanning tree, so the largest of them all is the one we're after
+            for (final int root : roots) {
+                if (maxLow == NONE || before(maxDistance, maxLow, maxHigh, rootDistance[root], rootLow[root], rootHigh[root])) {
+                    maxDistance = rootDistance[root];
+                    maxLow = rootLow[root];
+                    maxHigh = rootHigh[root];
+                }
+            }
+            // Two circuits may pick the same edge, but only one union of it succeeds
+            circuits -= (int) IntStream.of(roots).parallel()
+                    .filter(root -> uf.union(rootLow[root], rootHigh[root]))
+                    .count();
+        }
+        return new int[]{maxLow, maxHigh};
+    }
+
+    private void closestOutside(final int i, final int[] circuit, final long[] bestDistance, final int[] bestOther) {
+        final int own = circuit[i];
+        long best = Long.MAX_VALUE;
+        int bestIndex = NONE;
+        for (int j = 0; j < size; j++) {
+            if (circuit[j] == own) {
+                continue;
+            }
+            final long distance = distanceSquared(i, j);
+            // j only ever increases here, so on a tie the earlier j is already the better edge
+            if (distance < best) {
+                best = distance;
+                bestIndex = j;
+            }
+        }
+        bestDistance[i] = best;
+        bestOther[i] = bestIndex;
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.cbarlin.aoc2025;
+
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Splits an {@link Input} into runs of whole lines and works through them in parallel on the common ForkJoinPool.
+ * <p>
+ * Each chunk gets its own accumulator (so they can be plain mutable objects full of primitives), and the
+ * accumulators are then combined in the order the chunks came in. The combining only has to be associative,
+ * not commutative - so this works for anything where the lines can be summarised separately and joined up after.
+ */
+final class ParallelLines {
+    private static final long MIN_CHUNK_BYTES = 64 * 1024;
+    // More chunks than cores, so a slow chunk doesn't hold everything else up
+    private static final int CHUNKS_PER_CORE = 4;
+
+    private ParallelLines() {
+    }
+
+    @FunctionalInterface
+    interface LineAccumulator<A> {
+        /**
+         * Adds one line to the accumulator. The cursor starts at the start of the line, and can be left anywhere on it.
+         */
+        void accept(A accumulator, InputCursor line);
+    }
+
+    static int chunkCount(final Input input) {
+        return (int) Math.max(1, Math.min(
+                input.size() / MIN_CHUNK_BYTES,
+                (long) CHUNKS_PER_CORE * Runtime.getRuntime().availableProcessors()
+        ));
+    }
+
+    /**
+     * Reduces each chunk of lines with the given function, then combines the results in order.
+     */
+    static <A> A reduceChunks(final Input input, final Function<InputCursor, A> chunkReducer, final BinaryOperator<A> combiner) {
+        final int chunks = chunkCount(input);
+        final long[] bounds = input.splitLines(chunks);
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> chunkReducer.apply(input.cursor(bounds[chunk], bounds[chunk + 1])))
+                .reduce(combiner)
+                .orElseThrow();
+    }
+
+    /**
+     * Feeds every non-blank line into an accumulator for its chunk, then combines the accumulators in order.
+     * The combiner is free to update and return its first argument.
+     */
+    static <A> A reduce(final Input input, final Supplier<A> supplier,
+                        final LineAccumulator<A> accumulator, final BinaryOperator<A> combiner) {
+        return reduceChunks(input, cursor -> {
+            final A result = supplier.get();
+            while (cursor.hasRemaining()) {
+                if (!cursor.atLineEnd()) {
+                    accumulator.accept(result, cursor);
+                }
+                cursor.nextLine();
+            }
+            return result;
+        }, combiner);
+    }
+}
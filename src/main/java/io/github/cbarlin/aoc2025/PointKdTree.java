@@ -0,0 +1,204 @@
+package io.github.cbarlin.aoc2025;
+
+import java.util.List;
+
+/**
+ * A static 3-d tree over the junction boxes of {@link Day08}.
+ * <p>
+ * The tree is stored implicitly: every sub-range of {@code order} is split on its median, with the median
+ * itself being the node. Distances are kept as exact squared longs and ties are broken on the point index,
+ * which gives the same ordering as sorting every pair by {@link Day08.Point#distanceTo}.
+ */
+final class PointKdTree {
+    private final long[] xs;
+    private final long[] ys;
+    private final long[] zs;
+    private final int[] order;
+
+    PointKdTree(final List<Day08.Point> points) {
+        final int size = points.size();
+        xs = new long[size];
+        ys = new long[size];
+        zs = new long[size];
+        order = new int[size];
+        for (int i = 0; i < size; i++) {
+            final Day08.Point point = points.get(i);
+            xs[i] = point.x();
+            ys[i] = point.y();
+            zs[i] = point.z();
+            order[i] = i;
+        }
+        build(0, size, 0);
+    }
+
+    int size() {
+        return order.length;
+    }
+
+    long distanceSquared(final int a, final int b) {
+        final long dx = xs[a] - xs[b];
+        final long dy = ys[a] - ys[b];
+        final long dz = zs[a] - zs[b];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private long coordinate(final int index, final int axis) {
+        return switch (axis) {
+            case 0 -> xs[index];
+            case 1 -> ys[index];
+            default -> zs[index];
+        };
+    }
+
+    //#region Building
+    private void build(final int lo, final int hi, final int axis) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        final int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, axis);
+        final int nextAxis = (axis + 1) % 3;
+        build(lo, mid, nextAxis);
+        build(mid + 1, hi, nextAxis);
+    }
+
+    // Quickselect so that order[k] is the median on the axis, with smaller values before it
+    private void select(int lo, int hi, final int k, final int axis) {
+        while (hi > lo) {
+            final long pivot = coordinate(order[(lo + hi) >>> 1], axis);
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (coordinate(order[i], axis) < pivot) {
+                    i++;
+                }
+                while (coordinate(order[j], axis) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    final int tmp = order[i];
+                    order[i] = order[j];
+                    order[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+    //endregion
+
+    //#region Nearest neighbours
+    /**
+     * Finds the {@code k} nearest other points to {@code index}, closest first and ties broken on the index.
+     */
+    int[] nearest(final int index, final int k) {
+        final int limit = Math.min(k, order.length - 1);
+        final NeighbourHeap heap = new NeighbourHeap(limit);
+        if (limit > 0) {
+            search(index, 0, order.length, 0, heap);
+        }
+        return heap.drainSorted();
+    }
+
+    private void search(final int index, final int lo, final int hi, final int axis, final NeighbourHeap heap) {
+        if (lo >= hi) {
+            return;
+        }
+        final int mid = (lo + hi) >>> 1;
+        final int node = order[mid];
+        if (node != index) {
+            heap.offer(distanceSquared(index, node), node);
+        }
+        final long diff = coordinate(index, axis) - coordinate(node, axis);
+        final int nextAxis = (axis + 1) % 3;
+        if (diff < 0) {
+            search(index, lo, mid, nextAxis, heap);
+            if (heap.accepts(diff * diff)) {
+                search(index, mid + 1, hi, nextAxis, heap);
+            }
+        } else {
+            search(index, mid + 1, hi, nextAxis, heap);
+            if (heap.accepts(diff * diff)) {
+                search(index, lo, mid, nextAxis, heap);
+            }
+        }
+    }
+
+    // Bounded max-heap on (distance, index), so the root is the worst neighbour kept so far
+    private static final class NeighbourHeap {
+        private final long[] distances;
+        private final int[] indexes;
+        private int size;
+
+        NeighbourHeap(final int capacity) {
+            distances = new long[capacity];
+            indexes = new int[capacity];
+        }
+
+        // Could something this far away still make it into the heap? Equal distances may still win on index
+        boolean accepts(final long distance) {
+            return size < distances.length || distance <= distances[0];
+        }
+
+        void offer(final long distance, final int index) {
+            if (size < distances.length) {
+                int i = size++;
+                while (i > 0) {
+                    final int parent = (i - 1) >>> 1;
+                    if (!worse(distance, index, distances[parent], indexes[parent])) {
+                        break;
+                    }
+                    distances[i] = distances[parent];
+                    indexes[i] = indexes[parent];
+                    i = parent;
+                }
+                distances[i] = distance;
+                indexes[i] = index;
+            } else if (worse(distances[0], indexes[0], distance, index)) {
+                siftDown(distance, index, size);
+            }
+        }
+
+        private void siftDown(final long distance, final int index, final int limit) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= limit) {
+                    break;
+                }
+                if (child + 1 < limit && worse(distances[child + 1], indexes[child + 1], distances[child], indexes[child])) {
+                    child++;
+                }
+                if (!worse(distances[child], indexes[child], distance, index)) {
+                    break;
+                }
+                distances[i] = distances[child];
+                indexes[i] = indexes[child];
+                i = child;
+            }
+            distances[i] = distance;
+            indexes[i] = index;
+        }
+
+        int[] drainSorted() {
+            final int[] sorted = new int[size];
+            for (int last = size - 1; last >= 0; last--) {
+                sorted[last] = indexes[0];
+                siftDown(distances[last], indexes[last], last);
+            }
+            return sorted;
+        }
+
+        private static boolean worse(final long distA, final int indexA, final long distB, final int indexB) {
+            return distA > distB || (distA == distB && indexA > indexB);
+        }
+    }
+    //endregion
+}
@@ -0,0 +1,65 @@
+package io.github.cbarlin.aoc2025;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Every day's {@link Solver}, with where its inputs live and the answers to check against - always known for the
+ * examples, and for the real inputs where they've been confirmed.
+ * <p>
+ * Days with more than one way of solving them list the names of their strategies, for {@link Solver#STRATEGY}.
+ */
+enum Puzzle {
+    DAY_01(Day01::solve, new Solver.Answers(3, 6), new Solver.Answers(1023, 5899)),
+    DAY_02(Day02::solve, new Solver.Answers(1227775554L, 4174379265L), new Solver.Answers(31000881061L, 46769308485L)),
+    DAY_03(Day03::solve, new Solver.Answers(357, 3121910778619L), null),
+    DAY_04(Day04::solve, new Solver.Answers(13, 43), null),
+    DAY_05(Day05::solve, new Solver.Answers(3, 14), null),
+    DAY_06(Day06::solve, new Solver.Answers(4277556, 3263827), null, Worksheet.Evaluation.values()),
+    DAY_07(Day07::solve, new Solver.Answers(21, 40), null),
+    DAY_08(Day08::solve, new Solver.Answers(40, 25272), null, Day08.Strategy.values());
+
+    private final Solver solver;
+    private final Solver.Answers testAnswers;
+    private final Solver.Answers realAnswers;
+    private final List<String> strategies;
+
+    Puzzle(final Solver solver, final Solver.Answers testAnswers, final Solver.Answers realAnswers,
+           final Enum<?>... strategies) {
+        this.solver = solver;
+        this.testAnswers = testAnswers;
+        this.realAnswers = realAnswers;
+        this.strategies = Arrays.stream(strategies).map(Enum::name).toList();
+    }
+
+    int day() {
+        return ordinal() + 1;
+    }
+
+    Solver solver() {
+        return solver;
+    }
+
+    Solver.Answers testAnswers() {
+        return testAnswers;
+    }
+
+    // Null if they aren't known
+    Solver.Answers expected(final Solver.InputKind kind) {
+        return kind == Solver.InputKind.TEST ? testAnswers : realAnswers;
+    }
+
+    List<String> strategies() {
+        return strategies;
+    }
+
+    Path input(final Solver.InputKind kind) {
+        return Path.of("src/main/resources/day%02d/%s.txt".formatted(day(), kind == Solver.InputKind.TEST ? "test" : "real"));
+    }
+
+    static Optional<Puzzle> forDay(final int day) {
+        return day >= 1 && day <= values().length ? Optional.of(values()[day - 1]) : Optional.empty();
+    }
+}
@@ -0,0 +1,162 @@
+package io.github.cbarlin.aoc2025;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.LongStream;
+
+/**
+ * Every {@link Day02} invalid ID up to some number of digits, sorted and with running totals, so the sums for
+ * any range are two binary searches away.
+ * <p>
+ * The index is one run of longs: a header of {@code [digitLimit, count]}, then the IDs, then the prefix sums of
+ * every ID and of only the ones made of a repeated half ({@code count + 1} of each). Built indexes are on the heap;
+ * {@link #write} saves that layout as-is so {@link #map} can use a file directly without reading it in.
+ * <p>
+ * The number of IDs grows with the square root of the digit space - around a million at 12 digits, but
+ * a billion at 18 - so keep the limit to what the queries need.
+ */
+final class RepeatingIdIndex implements AutoCloseable {
+    private static final int HEADER = 2;
+
+    private final Arena arena;
+    private final MemorySegment longs;
+    private final int digitLimit;
+    private final long count;
+
+    private RepeatingIdIndex(final Arena arena, final MemorySegment longs) {
+        this.arena = arena;
+        this.longs = longs;
+        this.digitLimit = (int) longs.getAtIndex(ValueLayout.JAVA_LONG, 0);
+        this.count = longs.getAtIndex(ValueLayout.JAVA_LONG, 1);
+        if (longs.byteSize() != (HEADER + 3 * count + 2) * Long.BYTES) {
+            throw new IllegalArgumentException("Index is " + longs.byteSize() + " bytes, expected room for " + count + " IDs");
+        }
+    }
+
+    /**
+     * Enumerates every invalid ID with up to {@code digitLimit} digits (at most 18).
+     */
+    static RepeatingIdIndex build(final int digitLimit) {
+        if (digitLimit < 1 || digitLimit > 18) {
+            throw new IllegalArgumentException("Digit limit must be between 1 and 18, was " + digitLimit);
+        }
+        final LongStream.Builder builder = LongStream.builder();
+        for (int totalLength = 2; totalLength <= digitLimit; totalLength++) {
+            for (int period = 1; period <= totalLength / 2; period++) {
+                if (totalLength % period != 0) {
+                    continue;
+                }
+                final long multiplier = Day02.multiplier(totalLength, period);
+                for (long base = Day02.powerOfTen(period - 1); base < Day02.powerOfTen(period); base++) {
+                    builder.add(base * multiplier);
+                }
+            }
+        }
+        // e.g. 111111 repeats with periods 1, 2 and 3 but only goes in once
+        final long[] ids = builder.build().sorted().distinct().toArray();
+        final int count = ids.length;
+        final long[] longs = new long[Math.toIntExact(HEADER + 3L * count + 2)];
+        longs[0] = digitLimit;
+        longs[1] = count;
+        System.arraycopy(ids, 0, longs, HEADER, count);
+        final int anyOffset = HEADER + count;
+        final int halvesOffset = anyOffset + count + 1;
+        for (int i = 0; i < count; i++) {
+            longs[anyOffset + i + 1] = longs[anyOffset + i] + ids[i];
+            longs[halvesOffset + i + 1] = longs[halvesOffset + i] + (isRepeatedHalf(ids[i]) ? ids[i] : 0);
+        }
+        return new RepeatingIdIndex(null, MemorySegment.ofArray(longs));
+    }
+
+    /**
+     * Maps an index saved by {@link #write} straight from the file. Closing the index unmaps it.
+     */
+    static RepeatingIdIndex map(final Path path) throws IOException {
+        final Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new RepeatingIdIndex(arena, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Saves the index, writing to a temporary file first so a half-written index never gets mapped.
+     */
+    void write(final Path path) throws IOException {
+        final Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try (Arena writeArena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.map(FileChannel.MapMode.READ_WRITE, 0, longs.byteSize(), writeArena).copyFrom(longs);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    int digitLimit() {
+        return digitLimit;
+    }
+
+    long size() {
+        return count;
+    }
+
+    /**
+     * The sums of the invalid IDs in {@code [start, end]}, which must be within the digit limit.
+     */
+    Day02.Result query(final long start, final long end) {
+        if (end >= Day02.powerOfTen(digitLimit)) {
+            throw new IllegalArgumentException(end + " has more than " + digitLimit + " digits");
+        }
+        final long from = firstAtLeast(start);
+        final long to = firstAtLeast(end + 1);
+        if (to <= from) {
+            return new Day02.Result(0, 0);
+        }
+        final long anyOffset = HEADER + count;
+        final long halvesOffset = anyOffset + count + 1;
+        return new Day02.Result(
+                get(halvesOffset + to) - get(halvesOffset + from),
+                get(anyOffset + to) - get(anyOffset + from)
+        );
+    }
+
+    private long get(final long index) {
+        return longs.getAtIndex(ValueLayout.JAVA_LONG, index);
+    }
+
+    // Position of the first ID at or above the value, or count if there isn't one
+    private long firstAtLeast(final long value) {
+        long lo = 0;
+        long hi = count;
+        while (lo < hi) {
+            final long mid = (lo + hi) >>> 1;
+            if (get(HEADER + mid) < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // e.g. 123123 is 123 * 1001
+    private static boolean isRepeatedHalf(final long id) {
+        final int digits = Long.toString(id).length();
+        return digits % 2 == 0 && id % Day02.multiplier(digits, digits / 2) == 0;
+    }
+
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.cbarlin.aoc2025;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Answers from earlier runs, kept on disk and looked up by what produced them.
+ * <p>
+ * An entry's file name is its key - the day, the kind of input, a fingerprint of the code and the SHA-256 of the
+ * input's bytes - so changing the input or the code just means the old entry is never looked at again. The
+ * fingerprint covers the bytes of every class rather than just the day's own, since the days share helpers like
+ * {@link Input}; where there are no class files to read (e.g. a native image) there's no cache at all.
+ * <p>
+ * Entries are written to a temporary file and moved into place, so a reader only ever sees a whole entry (or none),
+ * even with several runs going at once. The cache never fails a run: anything unreadable is a miss, and anything
+ * that can't be written is just left out.
+ */
+final class ResultCache {
+    static final Path DEFAULT_DIRECTORY = Path.of(".cache", "results");
+
+    private final Path directory;
+    private final String code;
+
+    private ResultCache(final Path directory, final String code) {
+        this.directory = directory;
+        this.code = code;
+    }
+
+    static Optional<ResultCache> open(final Path directory) {
+        return codeFingerprint().map(code -> new ResultCache(directory, code));
+    }
+
+    record Key(
+            int day,
+            Solver.InputKind kind,
+            String code,
+            String sha256
+    ) {
+        private String fileName() {
+            return "day%02d-%s-%s-%s.txt".formatted(day, kind.name().toLowerCase(), code, sha256);
+        }
+    }
+
+    Key key(final Puzzle puzzle, final Solver.InputKind kind, final Path input) throws IOException {
+        final MessageDigest digest = sha256();
+        try (final Input loaded = Input.map(input)) {
+            loaded.digest(digest);
+        }
+        return new Key(puzzle.day(), kind, code, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    // Every class file next to this one (or the jar it's in), names and all
+    private static Optional<String> codeFingerprint() {
+        final CodeSource source = ResultCache.class.getProtectionDomain().getCodeSource();
+        if (source == null || source.getLocation() == null) {
+            return Optional.empty();
+        }
+        final MessageDigest digest = sha256();
+        try {
+            final Path location = Path.of(source.getLocation().toURI());
+            if (Files.isDirectory(location)) {
+                final List<Path> classes;
+                try (final Stream<Path> files = Files.walk(location)) {
+                    classes = files.filter(file -> file.toString().endsWith(".class")).sorted().toList();
+                }
+                for (final Path file : classes) {
+                    digest.update(location.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                    digest.update(Files.readAllBytes(file));
+                }
+            } else {
+                try (final Input loaded = Input.map(location)) {
+                    loaded.digest(digest);
+                }
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            return Optional.empty();
+        }
+        // Plenty to tell builds apart, while keeping the file names readable
+        return Optional.of(HexFormat.of().formatHex(digest.digest(), 0, 8));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM has to have it
+            throw new IllegalStateException(e);
+        }
+    }
+
+    Optional<Solver.Answers> get(final Key key) {
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(directory.resolve(key.fileName()), StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            // Missing, unreadable or not even text - whichever, it's solved again
+            return Optional.empty();
+        }
+        // Anything that doesn't look like an entry we wrote is a miss, and gets overwritten
+        if (lines.size() != 2) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new Solver.Answers(Long.parseLong(lines.get(0)), Long.parseLong(lines.get(1))));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    // The answers are already in hand, so failing to save them (e.g. a read-only checkout) is only worth a mention
+    void put(final Key key, final Solver.Answers answers) {
+        try {
+            Files.createDirectories(directory);
+            final Path temp = Files.createTempFile(directory, key.fileName(), ".tmp");
+            try {
+                Files.writeString(temp, answers.part1() + "\n" + answers.part2() + "\n", StandardCharsets.US_ASCII);
+                Files.move(temp, directory.resolve(key.fileName()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            System.err.println("Couldn't cache " + key.fileName() + ": " + e);
+        }
+    }
+}
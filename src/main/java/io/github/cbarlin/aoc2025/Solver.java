@@ -0,0 +1,34 @@
+package io.github.cbarlin.aoc2025;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Solves both parts of a day's puzzle from an input file - what each day offers {@link Application}.
+ */
+@FunctionalInterface
+interface Solver {
+
+    // The name of which of a day's strategies to use (see Puzzle#strategies), if one was asked for
+    ScopedValue<String> STRATEGY = ScopedValue.newInstance();
+
+    enum InputKind {
+        TEST,
+        REAL
+    }
+
+    record Answers(
+            long part1,
+            long part2
+    ) {
+        long part(final int part) {
+            return part == 1 ? part1 : part2;
+        }
+    }
+
+    /**
+     * The kind only matters to puzzles whose rules differ between the example and the real thing
+     * (e.g. how many connections {@link Day08} makes).
+     */
+    Answers solve(Path input, InputKind kind) throws IOException;
+}
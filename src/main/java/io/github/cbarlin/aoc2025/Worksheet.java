@@ -0,0 +1,239 @@
+package io.github.cbarlin.aoc2025;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The {@link Day06} maths worksheet, read once into fixed-width columns of bytes and then into primitive operands.
+ * <p>
+ * Problems are the runs of columns between columns that are blank all the way down. Each one's operands are
+ * read both ways: the numbers along each row (part 1), and the numbers down each column (part 2). Operands are
+ * stored a row (or column) position at a time across every problem - {@code operands[i][problem]} - so the
+ * evaluation runs along long[]s. Problems with fewer operands than the most any problem has are padded with the
+ * identity for their operator, so padding never changes an answer.
+ * <p>
+ * That also means evaluating is the same instructions for every problem, so it can be done many problems at a
+ * time with the Vector API (see {@link WorksheetVectors}) and split across cores.
+ */
+final class Worksheet {
+    private static final byte BLANK = ' ';
+    private static final int MIN_PROBLEMS_PER_CHUNK = 16 * 1024;
+    // Only touch WorksheetVectors if the incubator module is there to load it (--add-modules jdk.incubator.vector)
+    static final boolean VECTOR_API_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    enum Evaluation {
+        SCALAR,
+        // Falls back to SCALAR without the Vector API
+        VECTOR,
+        // VECTOR (or SCALAR) with the problems split across cores
+        PARALLEL
+    }
+
+    private final int problems;
+    private final boolean[] multiply;
+    private final long[][] rowOperands;
+    private final long[][] columnOperands;
+
+    private Worksheet(final boolean[] multiply, final long[][] rowOperands, final long[][] columnOperands) {
+        this.problems = multiply.length;
+        this.multiply = multiply;
+        this.rowOperands = rowOperands;
+        this.columnOperands = columnOperands;
+    }
+
+    static Worksheet parse(final Input input) {
+        long[] starts = new long[8];
+        long[] ends = new long[8];
+        int lines = 0;
+        final InputCursor cursor = input.cursor();
+        while (cursor.hasRemaining()) {
+            if (lines == starts.length) {
+                starts = Arrays.copyOf(starts, lines * 2);
+                ends = Arrays.copyOf(ends, lines * 2);
+            }
+            starts[lines] = cursor.position();
+            ends[lines] = cursor.lineEnd();
+            lines++;
+            cursor.nextLine();
+        }
+        // Trailing blank lines aren't rows
+        while (lines > 0 && starts[lines - 1] == ends[lines - 1]) {
+            lines--;
+        }
+        int width = 0;
+        for (int row = 0; row < lines; row++) {
+            width = Math.max(width, Math.toIntExact(ends[row] - starts[row]));
+        }
+        final byte[] cells = blankCells(lines, width);
+        for (int row = 0; row < lines; row++) {
+            for (long at = starts[row]; at < ends[row]; at++) {
+                cells[(int) (at - starts[row]) * lines + row] = input.get(at);
+            }
+        }
+        return fromColumns(cells, lines, width);
+    }
+
+    static Worksheet of(final List<String> lines) {
+        int rows = lines.size();
+        while (rows > 0 && lines.get(rows - 1).isEmpty()) {
+            rows--;
+        }
+        int width = 0;
+        for (int row = 0; row < rows; row++) {
+            width = Math.max(width, lines.get(row).length());
+        }
+        final byte[] cells = blankCells(rows, width);
+        for (int row = 0; row < rows; row++) {
+            final String line = lines.get(row);
+            for (int col = 0; col < line.length(); col++) {
+                cells[col * rows + row] = (byte) line.charAt(col);
+            }
+        }
+        return fromColumns(cells, rows, width);
+    }
+
+    private static byte[] blankCells(final int rows, final int width) {
+        final byte[] cells = new byte[Math.multiplyExact(rows, width)];
+        Arrays.fill(cells, BLANK);
+        return cells;
+    }
+
+    // The cell in a column and row is cells[col * rows + row], and the last row is the operators
+    private static Worksheet fromColumns(final byte[] cells, final int rows, final int width) {
+        final int operandRows = rows - 1;
+        // Find where each problem starts and ends
+        int[] problemStarts = new int[16];
+        int[] problemEnds = new int[16];
+        int problems = 0;
+        int widest = 0;
+        int col = 0;
+        while (col < width) {
+            while (col < width && isBlankColumn(cells, rows, col)) {
+                col++;
+            }
+            if (col == width) {
+                break;
+            }
+            final int start = col;
+            while (col < width && !isBlankColumn(cells, rows, col)) {
+                col++;
+            }
+            if (problems == problemStarts.length) {
+                problemStarts = Arrays.copyOf(problemStarts, problems * 2);
+                problemEnds = Arrays.copyOf(problemEnds, problems * 2);
+            }
+            problemStarts[problems] = start;
+            problemEnds[problems] = col;
+            widest = Math.max(widest, col - start);
+            problems++;
+        }
+
+        final boolean[] multiply = new boolean[problems];
+        final long[][] rowOperands = new long[operandRows][problems];
+        final long[][] columnOperands = new long[widest][problems];
+        for (int problem = 0; problem < problems; problem++) {
+            final int start = problemStarts[problem];
+            final int end = problemEnds[problem];
+            multiply[problem] = operator(cells, rows, start, end) == '*';
+            final long identity = multiply[problem] ? 1 : 0;
+            for (int row = 0; row < operandRows; row++) {
+                long value = -1;
+                for (int c = start; c < end; c++) {
+                    value = appendDigit(value, cells[c * rows + row]);
+                }
+                rowOperands[row][problem] = value < 0 ? identity : value;
+            }
+            // Right to left, although the order can't change a sum or a product
+            for (int i = 0; i < widest; i++) {
+                final int c = end - 1 - i;
+                long value = -1;
+                if (c >= start) {
+                    for (int row = 0; row < operandRows; row++) {
+                        value = appendDigit(value, cells[c * rows + row]);
+                    }
+                }
+                columnOperands[i][problem] = value < 0 ? identity : value;
+            }
+        }
+        return new Worksheet(multiply, rowOperands, columnOperands);
+    }
+
+    private static boolean isBlankColumn(final byte[] cells, final int rows, final int col) {
+        for (int row = 0; row < rows; row++) {
+            if (cells[col * rows + row] != BLANK) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte operator(final byte[] cells, final int rows, final int start, final int end) {
+        for (int c = start; c < end; c++) {
+            final byte b = cells[c * rows + rows - 1];
+            if (b == '+' || b == '*') {
+                return b;
+            }
+        }
+        throw new IllegalStateException("No operator under columns " + start + " to " + end);
+    }
+
+    // -1 means no digits yet
+    private static long appendDigit(final long value, final byte b) {
+        if (b < '0' || b > '9') {
+            return value;
+        }
+        return Math.max(value, 0) * 10 + (b - '0');
+    }
+
+    int problems() {
+        return problems;
+    }
+
+    Day06.Result solve() {
+        return solve(Evaluation.PARALLEL);
+    }
+
+    Day06.Result solve(final Evaluation evaluation) {
+        return new Day06.Result(evaluate(rowOperands, evaluation), evaluate(columnOperands, evaluation));
+    }
+
+    // Sum of every problem's answer
+    private long evaluate(final long[][] operands, final Evaluation evaluation) {
+        return switch (evaluation) {
+            case SCALAR -> evaluateScalar(operands, multiply, 0, problems);
+            case VECTOR -> evaluateVector(operands, 0, problems);
+            case PARALLEL -> {
+                final int chunks = (int) Math.max(1, Math.min(
+                        problems / MIN_PROBLEMS_PER_CHUNK,
+                        4L * Runtime.getRuntime().availableProcessors()
+                ));
+                yield IntStream.range(0, chunks).parallel()
+                        .mapToLong(chunk -> evaluateVector(
+                                operands,
+                                (int) ((long) problems * chunk / chunks),
+                                (int) ((long) problems * (chunk + 1) / chunks)
+                        ))
+                        .sum();
+            }
+        };
+    }
+
+    private long evaluateVector(final long[][] operands, final int from, final int to) {
+        return VECTOR_API_AVAILABLE
+                ? WorksheetVectors.evaluate(operands, multiply, from, to)
+                : evaluateScalar(operands, multiply, from, to);
+    }
+
+    static long evaluateScalar(final long[][] operands, final boolean[] multiply, final int from, final int to) {
+        long total = 0;
+        for (int problem = from; problem < to; problem++) {
+            long answer = multiply[problem] ? 1 : 0;
+            for (final long[] operand : operands) {
+                answer = multiply[problem] ? answer * operand[problem] : answer + operand[problem];
+            }
+            total += answer;
+        }
+        return total;
+    }
+}
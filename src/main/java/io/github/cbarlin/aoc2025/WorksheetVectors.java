@@ -0,0 +1,37 @@
+package io.github.cbarlin.aoc2025;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Evaluates {@link Worksheet} problems a vector's worth at a time, each lane a different problem.
+ * <p>
+ * Everything using {@code jdk.incubator.vector} lives here, so nothing else needs the module - only call this
+ * once {@link Worksheet#VECTOR_API_AVAILABLE} says it's been added.
+ */
+final class WorksheetVectors {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private WorksheetVectors() {
+    }
+
+    static long evaluate(final long[][] operands, final boolean[] multiply, final int from, final int to) {
+        final LongVector zero = LongVector.zero(SPECIES);
+        final LongVector one = LongVector.broadcast(SPECIES, 1L);
+        LongVector totals = zero;
+        int problem = from;
+        for (; problem + SPECIES.length() <= to; problem += SPECIES.length()) {
+            final VectorMask<Long> multiplying = VectorMask.fromArray(SPECIES, multiply, problem);
+            // Each lane starts at the identity for its operator, then both operators are done and the right one kept
+            LongVector answers = zero.blend(one, multiplying);
+            for (final long[] operand : operands) {
+                final LongVector values = LongVector.fromArray(SPECIES, operand, problem);
+                answers = answers.add(values).blend(answers.mul(values), multiplying);
+            }
+            totals = totals.add(answers);
+        }
+        return totals.reduceLanes(VectorOperators.ADD) + Worksheet.evaluateScalar(operands, multiply, problem, to);
+    }
+}